@@ -0,0 +1,15 @@
+package com.ordersystem.gateway.cache;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Respuesta almacenada; refreshUri apunta al servicio (lb://...) con la ruta ya reescrita
+ */
+public record CachedResponse(int status, String contentType, byte[] body, Instant storedAt, URI refreshUri) {
+
+    public Duration age() {
+        return Duration.between(storedAt, Instant.now());
+    }
+}
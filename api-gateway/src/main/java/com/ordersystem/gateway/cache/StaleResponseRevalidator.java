@@ -0,0 +1,74 @@
+package com.ordersystem.gateway.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Stale Response Revalidator
+ * Vuelve a pedir al servicio las respuestas servidas como obsoletas; en cuanto
+ * el servicio se recupera, la caché queda actualizada sin esperar al cliente.
+ */
+@Slf4j
+@Component
+public class StaleResponseRevalidator {
+
+    private final StaleResponseStore store;
+    private final WebClient webClient;
+    private final Duration timeout;
+    private final int batchSize;
+
+    public StaleResponseRevalidator(StaleResponseStore store,
+                                    @Qualifier("loadBalancedWebClientBuilder") WebClient.Builder webClientBuilder,
+                                    @Value("${stale-cache.revalidate-timeout:2s}") Duration timeout,
+                                    @Value("${stale-cache.revalidate-batch-size:50}") int batchSize) {
+        this.store = store;
+        this.webClient = webClientBuilder.build();
+        this.timeout = timeout;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${stale-cache.revalidate-interval:10s}")
+    public void revalidate() {
+        Flux.fromIterable(store.pendingRevalidation(batchSize))
+                .filter(pending -> pending.getValue().refreshUri() != null)
+                .flatMap(this::refresh, 4)
+                .blockLast(timeout.multipliedBy(2));
+    }
+
+    private Mono<Void> refresh(Map.Entry<String, CachedResponse> pending) {
+        CachedResponse stale = pending.getValue();
+        return webClient.get()
+                .uri(stale.refreshUri())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchangeToMono(response -> {
+                    MediaType contentType = response.headers().contentType().orElse(null);
+                    if (!response.statusCode().is2xxSuccessful() || contentType == null
+                            || !MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+                        return response.releaseBody();
+                    }
+                    return response.bodyToMono(byte[].class)
+                            .doOnNext(body -> {
+                                store.put(pending.getKey(), new CachedResponse(response.statusCode().value(),
+                                        contentType.toString(), body, Instant.now(), stale.refreshUri()));
+                                log.debug("Revalidated stale response: {}", pending.getKey());
+                            })
+                            .then();
+                })
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    log.debug("Stale response still unavailable: {} ({})", pending.getKey(), e.toString());
+                    return Mono.empty();
+                });
+    }
+}
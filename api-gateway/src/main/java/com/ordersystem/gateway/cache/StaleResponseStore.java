@@ -0,0 +1,115 @@
+package com.ordersystem.gateway.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stale Response Store
+ * Última respuesta buena de cada GET (LRU acotado y con antigüedad máxima)
+ * para servirla marcada como obsoleta mientras el circuito está abierto.
+ */
+@Component
+public class StaleResponseStore {
+
+    /**
+     * Marca del exchange cuando la respuesta la genera el fallback
+     */
+    public static final String FALLBACK_RESPONSE_ATTR = StaleResponseStore.class.getName() + ".fallbackResponse";
+
+    private final int maxEntries;
+    private final long maxBodyBytes;
+    private final Duration maxStale;
+
+    private final Map<String, CachedResponse> entries;
+    private final Set<String> pendingRevalidation = ConcurrentHashMap.newKeySet();
+
+    public StaleResponseStore(@Value("${stale-cache.max-entries:10000}") int maxEntries,
+                              @Value("${stale-cache.max-body-size:256KB}") DataSize maxBodySize,
+                              @Value("${stale-cache.max-stale:1h}") Duration maxStale) {
+        this.maxEntries = maxEntries;
+        this.maxBodyBytes = maxBodySize.toBytes();
+        this.maxStale = maxStale;
+        this.entries = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > StaleResponseStore.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Clave: ruta y query originales del cliente, antes de cualquier reescritura
+     */
+    public static String keyOf(ServerWebExchange exchange) {
+        Set<URI> originalUrls = exchange.getAttributeOrDefault(
+                ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR, Collections.emptySet());
+        URI uri = originalUrls.isEmpty() ? exchange.getRequest().getURI() : originalUrls.iterator().next();
+        return uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+    }
+
+    public boolean accepts(long bodySize) {
+        return bodySize <= maxBodyBytes;
+    }
+
+    public void put(String key, CachedResponse response) {
+        if (!accepts(response.body().length)) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, response);
+        }
+        pendingRevalidation.remove(key);
+    }
+
+    /**
+     * Devuelve la última respuesta buena si no supera la antigüedad máxima y
+     * la marca para revalidarse en segundo plano
+     */
+    public Optional<CachedResponse> getStale(String key) {
+        CachedResponse response;
+        synchronized (entries) {
+            response = entries.get(key);
+            if (response != null && response.age().compareTo(maxStale) > 0) {
+                entries.remove(key);
+                response = null;
+            }
+        }
+        if (response != null) {
+            pendingRevalidation.add(key);
+        }
+        return Optional.ofNullable(response);
+    }
+
+    public List<Map.Entry<String, CachedResponse>> pendingRevalidation(int limit) {
+        List<Map.Entry<String, CachedResponse>> pending = new ArrayList<>();
+        for (String key : pendingRevalidation) {
+            if (pending.size() >= limit) {
+                break;
+            }
+            CachedResponse response;
+            synchronized (entries) {
+                response = entries.get(key);
+            }
+            if (response == null) {
+                pendingRevalidation.remove(key);
+            } else {
+                pending.add(Map.entry(key, response));
+            }
+        }
+        return pending;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ordersystem.gateway.config;
+
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Stale Cache Configuration
+ * Cliente balanceado (lb://) para revalidar en segundo plano las respuestas obsoletas
+ */
+@Configuration
+@EnableScheduling
+public class StaleCacheConfig {
+
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder() {
+        return WebClient.builder();
+    }
+}
@@ -1,8 +1,15 @@
 package com.ordersystem.gateway.controller;
 
+import com.ordersystem.gateway.cache.CachedResponse;
+import com.ordersystem.gateway.cache.StaleResponseStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
@@ -10,13 +17,24 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/fallback")
+@RequiredArgsConstructor
 public class FallbackController {
 
+    public static final String CACHE_STATUS_HEADER = "X-Cache-Status";
+
+    private final StaleResponseStore staleResponseStore;
+
     @GetMapping("/users")
-    public Mono<Map<String, String>> userServiceFallback() {
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "User service is temporarily unavailable. Please try again later.");
-        return Mono.just(response);
+    public Mono<ResponseEntity<?>> userServiceFallback(ServerWebExchange exchange) {
+        // Con el circuito abierto o timeout, se sirve la última respuesta buena marcada como obsoleta
+        exchange.getAttributes().put(StaleResponseStore.FALLBACK_RESPONSE_ATTR, Boolean.TRUE);
+        return Mono.just(staleResponseStore.getStale(StaleResponseStore.keyOf(exchange))
+                .<ResponseEntity<?>>map(this::staleResponse)
+                .orElseGet(() -> {
+                    Map<String, String> response = new HashMap<>();
+                    response.put("message", "User service is temporarily unavailable. Please try again later.");
+                    return ResponseEntity.ok(response);
+                }));
     }
 
     @GetMapping("/products")
@@ -32,4 +50,13 @@ public class FallbackController {
         response.put("message", "Order service is temporarily unavailable. Please try again later.");
         return Mono.just(response);
     }
+
+    private ResponseEntity<byte[]> staleResponse(CachedResponse cached) {
+        return ResponseEntity.status(cached.status())
+                .contentType(MediaType.parseMediaType(cached.contentType()))
+                .header(HttpHeaders.AGE, String.valueOf(cached.age().toSeconds()))
+                .header(HttpHeaders.WARNING, "110 - \"Response is Stale\"")
+                .header(CACHE_STATUS_HEADER, "STALE")
+                .body(cached.body());
+    }
 }
@@ -0,0 +1,35 @@
+package com.ordersystem.gateway.filter;
+
+/**
+ * Presupuesto de hedging: cada petición aporta ratio tokens y cada hedge
+ * consume uno, de modo que la carga extra no supera ese ratio (salvo la
+ * reserva inicial de maxTokens).
+ */
+class HedgeBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    HedgeBudget(double ratio, double maxTokens) {
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+    }
+
+    synchronized void onRequest() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    synchronized double available() {
+        return tokens;
+    }
+}
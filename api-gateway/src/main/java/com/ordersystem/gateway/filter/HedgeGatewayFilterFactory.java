@@ -0,0 +1,281 @@
+package com.ordersystem.gateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hedged requests para GET idempotentes en rutas lb://.
+ * Si la instancia elegida no responde antes del percentil configurado de la
+ * latencia observada, se lanza la misma petición contra otra instancia y se
+ * usa la primera respuesta. El número de hedges está acotado por un presupuesto.
+ * Gana la primera instancia que devuelve cabeceras y su cuerpo se reenvía en
+ * streaming, sin cargarlo en memoria: el tamaño de la respuesta no está limitado.
+ * Debe ir después de RewritePath y CircuitBreaker en la lista de filtros.
+ */
+@Slf4j
+@Component
+public class HedgeGatewayFilterFactory extends AbstractGatewayFilterFactory<HedgeGatewayFilterFactory.Config> {
+
+    private static final String LB_SCHEME = "lb";
+    private static final int LATENCY_WINDOW_SIZE = 1000;
+    private static final int MIN_LATENCY_SAMPLES = 100;
+
+    private final ReactiveDiscoveryClient discoveryClient;
+    private final LoadBalancerClientFactory loadBalancerClientFactory;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final MeterRegistry meterRegistry;
+    private final WebClient webClient;
+
+    private final Map<String, HedgeState> states = new ConcurrentHashMap<>();
+
+    public HedgeGatewayFilterFactory(ReactiveDiscoveryClient discoveryClient,
+                                     LoadBalancerClientFactory loadBalancerClientFactory,
+                                     ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                     MeterRegistry meterRegistry,
+                                     HttpClient gatewayHttpClient) {
+        super(Config.class);
+        this.discoveryClient = discoveryClient;
+        this.loadBalancerClientFactory = loadBalancerClientFactory;
+        this.headersFilters = headersFilters;
+        this.meterRegistry = meterRegistry;
+        this.webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(gatewayHttpClient))
+                .build();
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<PathPattern> excludedPaths = config.getExcludedPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            if (exchange.getRequest().getMethod() != HttpMethod.GET
+                    || route == null
+                    || !LB_SCHEME.equals(route.getUri().getScheme())
+                    || isExcluded(exchange, excludedPaths)) {
+                return chain.filter(exchange);
+            }
+            HedgeState state = states.computeIfAbsent(config.getRouteId(), routeId -> new HedgeState(routeId, config));
+            return hedge(exchange, route.getUri().getHost(), state);
+        };
+    }
+
+    private Mono<Void> hedge(ServerWebExchange exchange, String serviceId, HedgeState state) {
+        state.requests.increment();
+        state.budget.onRequest();
+        HttpHeaders headers = HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange);
+
+        return Mono.zip(choosePrimary(serviceId), discoveryClient.getInstances(serviceId).collectList())
+                .flatMap(instances -> {
+                    ServiceInstance primary = instances.getT1();
+                    ServiceInstance alternate = pickAlternate(instances.getT2(), primary);
+                    AtomicBoolean hedged = new AtomicBoolean();
+
+                    long start = System.nanoTime();
+                    // Latencia hasta las cabeceras. Si gana el hedge la primaria se cancela y no se
+                    // registra: ese tiempo solo es una cota inferior y sesgaría el percentil a la baja
+                    Mono<Outcome> primaryCall = call(exchange, primary, headers)
+                            .doFinally(signal -> {
+                                if (signal != SignalType.CANCEL) {
+                                    state.latency.record(System.nanoTime() - start);
+                                }
+                            })
+                            .map(response -> new Outcome(response, false));
+
+                    Mono<Outcome> hedgeCall = alternate == null
+                            ? Mono.<Outcome>never()
+                            : Mono.delay(state.delay()).flatMap(tick -> {
+                                if (!state.budget.tryAcquire()) {
+                                    state.budgetExhausted.increment();
+                                    return Mono.<Outcome>never();
+                                }
+                                hedged.set(true);
+                                state.hedges.increment();
+                                // Un fallo del hedge no debe ganar a una primaria que aún puede responder
+                                return call(exchange, alternate, headers)
+                                        .map(response -> new Outcome(response, true))
+                                        .onErrorResume(e -> Mono.never());
+                            });
+
+                    return Mono.firstWithSignal(primaryCall, hedgeCall)
+                            .flatMap(outcome -> {
+                                if (outcome.fromHedge()) {
+                                    state.hedgeWins.increment();
+                                } else if (hedged.get()) {
+                                    state.primaryWins.increment();
+                                }
+                                return write(exchange, outcome.response());
+                            });
+                });
+    }
+
+    private Mono<ServiceInstance> choosePrimary(String serviceId) {
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer = loadBalancerClientFactory.getInstance(serviceId);
+        if (loadBalancer == null) {
+            return Mono.error(NotFoundException.create(true, "No loadbalancer available for " + serviceId));
+        }
+        return Mono.from(loadBalancer.choose(new DefaultRequest<>()))
+                .filter(Response::hasServer)
+                .map(Response::getServer)
+                .switchIfEmpty(Mono.error(NotFoundException.create(true,
+                        "Unable to find instance for " + serviceId)));
+    }
+
+    private ServiceInstance pickAlternate(List<ServiceInstance> instances, ServiceInstance primary) {
+        List<ServiceInstance> others = new ArrayList<>();
+        for (ServiceInstance instance : instances) {
+            if (!instance.getHost().equals(primary.getHost()) || instance.getPort() != primary.getPort()) {
+                others.add(instance);
+            }
+        }
+        return others.isEmpty() ? null : others.get(ThreadLocalRandom.current().nextInt(others.size()));
+    }
+
+    /**
+     * Completa al recibir las cabeceras; el cuerpo queda pendiente como Flux. Los 4xx/5xx
+     * se reenvían tal cual, no son errores
+     */
+    private Mono<ResponseEntity<Flux<DataBuffer>>> call(ServerWebExchange exchange, ServiceInstance instance,
+                                                         HttpHeaders headers) {
+        URI uri = LoadBalancerUriTools.reconstructURI(instance, exchange.getRequest().getURI());
+        return webClient.get()
+                .uri(uri)
+                .headers(target -> {
+                    target.addAll(headers);
+                    target.remove(HttpHeaders.HOST);
+                })
+                .retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class);
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, ResponseEntity<Flux<DataBuffer>> upstream) {
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(upstream.getStatusCode());
+        response.getHeaders().putAll(HttpHeadersFilter.filter(headersFilters.getIfAvailable(),
+                upstream.getHeaders(), exchange, HttpHeadersFilter.Type.RESPONSE));
+
+        // Content-Length, si viene, sigue siendo válido: el cuerpo se reenvía sin cambios
+        response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        return response.writeWith(upstream.getBody() == null ? Flux.empty() : upstream.getBody());
+    }
+
+    private boolean isExcluded(ServerWebExchange exchange, List<PathPattern> excludedPaths) {
+        if (excludedPaths.isEmpty()) {
+            return false;
+        }
+        Set<URI> originalUrls = exchange.getAttributeOrDefault(
+                ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR, Collections.emptySet());
+        URI uri = originalUrls.isEmpty() ? exchange.getRequest().getURI() : originalUrls.iterator().next();
+        PathContainer path = PathContainer.parsePath(uri.getRawPath());
+        return excludedPaths.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private record Outcome(ResponseEntity<Flux<DataBuffer>> response, boolean fromHedge) {
+    }
+
+    private final class HedgeState {
+
+        private final LatencyWindow latency;
+        private final HedgeBudget budget;
+        private final long minDelayNanos;
+        private final long maxDelayNanos;
+
+        private final Counter requests;
+        private final Counter hedges;
+        private final Counter hedgeWins;
+        private final Counter primaryWins;
+        private final Counter budgetExhausted;
+
+        private HedgeState(String routeId, Config config) {
+            this.latency = new LatencyWindow(LATENCY_WINDOW_SIZE, config.getPercentile(), MIN_LATENCY_SAMPLES);
+            this.budget = new HedgeBudget(config.getBudgetPercent() / 100.0, config.getBudgetBurst());
+            this.minDelayNanos = config.getMinDelay().toNanos();
+            this.maxDelayNanos = config.getMaxDelay().toNanos();
+
+            this.requests = Counter.builder("gateway.hedge.requests").tag("route", routeId)
+                    .description("Peticiones elegibles para hedging").register(meterRegistry);
+            this.hedges = Counter.builder("gateway.hedge.sent").tag("route", routeId)
+                    .description("Peticiones duplicadas enviadas a otra instancia").register(meterRegistry);
+            this.hedgeWins = Counter.builder("gateway.hedge.wins").tag("route", routeId).tag("winner", "hedge")
+                    .register(meterRegistry);
+            this.primaryWins = Counter.builder("gateway.hedge.wins").tag("route", routeId).tag("winner", "primary")
+                    .register(meterRegistry);
+            this.budgetExhausted = Counter.builder("gateway.hedge.budget.exhausted").tag("route", routeId)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.hedge.delay", this, state -> state.delay().toNanos() / 1_000_000.0)
+                    .tag("route", routeId).baseUnit("milliseconds").register(meterRegistry);
+            Gauge.builder("gateway.hedge.budget.available", budget, HedgeBudget::available)
+                    .tag("route", routeId).register(meterRegistry);
+        }
+
+        /**
+         * Percentil observado acotado a [minDelay, maxDelay]; maxDelay mientras no haya muestras
+         */
+        private Duration delay() {
+            long percentile = latency.percentileNanos();
+            long nanos = percentile < 0 ? maxDelayNanos : Math.max(minDelayNanos, Math.min(maxDelayNanos, percentile));
+            return Duration.ofNanos(nanos);
+        }
+    }
+
+    @Data
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private double percentile = 95.0;
+        private Duration minDelay = Duration.ofMillis(10);
+        private Duration maxDelay = Duration.ofMillis(500);
+        private double budgetPercent = 10.0;
+        private double budgetBurst = 10.0;
+        private List<String> excludedPaths = new ArrayList<>();
+    }
+}
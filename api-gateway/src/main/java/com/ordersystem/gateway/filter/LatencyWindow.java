@@ -0,0 +1,47 @@
+package com.ordersystem.gateway.filter;
+
+import java.util.Arrays;
+
+/**
+ * Ventana deslizante de las últimas latencias observadas; el percentil se
+ * recalcula cada cierto número de muestras para no ordenar en cada petición.
+ */
+class LatencyWindow {
+
+    private static final int RECOMPUTE_EVERY = 50;
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long percentileNanos = -1;
+
+    LatencyWindow(int size, double percentile, int minSamples) {
+        this.samples = new long[size];
+        this.percentile = percentile;
+        this.minSamples = minSamples;
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        if (++sinceRecompute >= RECOMPUTE_EVERY && count >= minSamples) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            percentileNanos = sorted[Math.max(0, Math.min(index, count - 1))];
+            sinceRecompute = 0;
+        }
+    }
+
+    /**
+     * @return percentil en nanosegundos, o -1 si aún no hay muestras suficientes
+     */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+}
@@ -0,0 +1,121 @@
+package com.ordersystem.gateway.filter;
+
+import com.ordersystem.gateway.cache.CachedResponse;
+import com.ordersystem.gateway.cache.StaleResponseStore;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Instant;
+
+/**
+ * Guarda las respuestas JSON 2xx de los GET de la ruta en {@link StaleResponseStore}.
+ * Debe ir después de RewritePath y antes de CircuitBreaker: la URI de revalidación
+ * se toma de la petición reescrita antes de que el fallback la sustituya por forward:.
+ * Las respuestas del fallback (genéricas u obsoletas) nunca se guardan.
+ */
+@Component
+public class StaleCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<StaleCacheGatewayFilterFactory.Config> {
+
+    private final StaleResponseStore store;
+
+    public StaleCacheGatewayFilterFactory(StaleResponseStore store) {
+        super(Config.class);
+        this.store = store;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+            String key = StaleResponseStore.keyOf(exchange);
+            return chain.filter(exchange.mutate()
+                    .response(new CapturingResponse(exchange, key, refreshUri(exchange)))
+                    .build());
+        };
+    }
+
+    private class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final String key;
+        private final URI refreshUri;
+
+        CapturingResponse(ServerWebExchange exchange, String key, URI refreshUri) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.refreshUri = refreshUri;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (isFallback() || !isCacheable(getDelegate())) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                MediaType contentType = getHeaders().getContentType();
+                store.put(key, new CachedResponse(getStatusCode().value(), contentType.toString(),
+                        bytes, Instant.now(), refreshUri));
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        /**
+         * El fallback se ejecuta sobre el mismo exchange y su respuesta también pasa por aquí
+         */
+        private boolean isFallback() {
+            return exchange.getAttribute(StaleResponseStore.FALLBACK_RESPONSE_ATTR) != null
+                    || exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR) != null;
+        }
+
+        private boolean isCacheable(ServerHttpResponse response) {
+            HttpStatusCode status = response.getStatusCode();
+            MediaType contentType = response.getHeaders().getContentType();
+            long contentLength = response.getHeaders().getContentLength();
+            // Solo JSON: las exportaciones NDJSON/CSV en streaming no se bufferizan
+            return status != null && status.is2xxSuccessful()
+                    && contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                    && (contentLength < 0 || store.accepts(contentLength));
+        }
+    }
+
+    /**
+     * URI lb:// de la ruta con la ruta ya reescrita, para revalidar sin pasar por el gateway
+     */
+    private static URI refreshUri(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return null;
+        }
+        URI requestUri = exchange.getRequest().getURI();
+        return UriComponentsBuilder.fromUri(route.getUri())
+                .replacePath(requestUri.getRawPath())
+                .replaceQuery(requestUri.getRawQuery())
+                .build(true)
+                .toUri();
+    }
+
+    public static class Config {
+    }
+}
@@ -0,0 +1,214 @@
+package com.ordersystem.benchmark;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+import com.rabbitmq.client.DefaultConsumer;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.MessageProperties;
+import org.apache.qpid.server.SystemLauncher;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Ack mode benchmark (common BatchConsumer)
+ * Vacía una cola con N mensajes ya publicados confirmando cada mensaje por separado
+ * (basicAck(tag, false)) o una vez por lote con multiple=true, como BatchConsumer, con
+ * el mismo prefetch. Cada ronda usa una cola nueva, alterna el orden de los dos modos y
+ * termina con un queue.declare pasivo en el mismo canal, que el broker contesta después
+ * de procesar los acks previos.
+ * <pre>
+ * mvn -pl benchmarks exec:java -Dexec.mainClass=com.ordersystem.benchmark.AckModeBenchmark \
+ *     -Dexec.args="messages=200000 prefetch=250 batch=100"
+ * mvn -pl benchmarks exec:java -Dexec.mainClass=com.ordersystem.benchmark.AckModeBenchmark \
+ *     -Dexec.args="broker=external host=localhost port=5672 user=admin password=admin123"
+ * </pre>
+ * Por defecto arranca un broker AMQP 0-9-1 embebido (Qpid Broker-J en memoria); con
+ * broker=external usa un RabbitMQ ya levantado, p. ej. el de docker-compose.
+ */
+public final class AckModeBenchmark {
+
+    private static final String QUEUE_PREFIX = "ack-mode-bench.";
+    private static final int CONFIRM_EVERY = 1_000;
+
+    private AckModeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkArgs arguments = new BenchmarkArgs(args);
+        boolean embedded = !"external".equals(arguments.get("broker", "embedded"));
+        int port = arguments.getInt("port", embedded ? 5673 : 5672);
+        int messages = arguments.getInt("messages", 200_000);
+        int prefetch = arguments.getInt("prefetch", 250);
+        int batch = arguments.getInt("batch", 100);
+        int payloadBytes = arguments.getInt("payload", 256);
+        int rounds = arguments.getInt("rounds", 3);
+        Duration timeout = arguments.getDuration("timeout", Duration.ofMinutes(5));
+        if (batch > prefetch) {
+            // El broker dejaría de entregar antes de completar el lote y nunca llegaría el ack
+            throw new IllegalArgumentException("batch (" + batch + ") must not exceed prefetch (" + prefetch + ")");
+        }
+
+        SystemLauncher broker = embedded ? startEmbeddedBroker(port) : null;
+        try {
+            ConnectionFactory factory = new ConnectionFactory();
+            factory.setHost(arguments.get("host", "localhost"));
+            factory.setPort(port);
+            factory.setUsername(arguments.get("user", embedded ? "guest" : "admin"));
+            factory.setPassword(arguments.get("password", embedded ? "guest" : "admin123"));
+            byte[] payload = new byte[payloadBytes];
+
+            try (Connection connection = factory.newConnection("ack-mode-benchmark")) {
+                // Ronda de calentamiento (JIT del cliente y del broker embebido), descartada
+                int warmUpMessages = Math.min(messages, 20_000);
+                drain(connection, payload, warmUpMessages, prefetch, 1, timeout);
+                drain(connection, payload, warmUpMessages, prefetch, batch, timeout);
+
+                List<Result> perMessage = new ArrayList<>();
+                List<Result> batched = new ArrayList<>();
+                for (int round = 1; round <= rounds; round++) {
+                    int[] order = round % 2 == 1 ? new int[]{1, batch} : new int[]{batch, 1};
+                    for (int ackEvery : order) {
+                        Result result = drain(connection, payload, messages, prefetch, ackEvery, timeout);
+                        (ackEvery == 1 ? perMessage : batched).add(result);
+                        System.out.printf("round %d %-12s %s%n", round, label(ackEvery, batch), result);
+                    }
+                }
+                System.out.printf("%nmedian over %d rounds (%d messages, prefetch %d, %d-byte payload, %s broker)%n",
+                        rounds, messages, prefetch, payloadBytes, embedded ? "embedded" : "external");
+                System.out.printf("  %-12s %,.0f msg/s%n", label(1, batch), median(perMessage));
+                System.out.printf("  %-12s %,.0f msg/s%n", label(batch, batch), median(batched));
+            }
+        } finally {
+            if (broker != null) {
+                broker.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Publica los mensajes (fuera de la medida) y mide el vaciado de la cola
+     */
+    private static Result drain(Connection connection, byte[] payload, int messages, int prefetch, int ackEvery,
+                                Duration timeout) throws IOException, InterruptedException, TimeoutException {
+        String queue = QUEUE_PREFIX + UUID.randomUUID();
+        Channel channel = connection.createChannel();
+        try {
+            channel.queueDeclare(queue, true, false, false, null);
+            publish(channel, queue, payload, messages);
+
+            channel.basicQos(prefetch);
+            AckingConsumer consumer = new AckingConsumer(channel, messages, ackEvery);
+            long start = System.nanoTime();
+            String consumerTag = channel.basicConsume(queue, false, consumer);
+            if (!consumer.done.await(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Consumed " + consumer.received + " of " + messages
+                        + " messages in " + timeout);
+            }
+            channel.basicCancel(consumerTag);
+            AMQP.Queue.DeclareOk declareOk = channel.queueDeclarePassive(queue);
+            long elapsed = System.nanoTime() - start;
+            if (declareOk.getMessageCount() != 0) {
+                throw new IllegalStateException(declareOk.getMessageCount() + " messages left in " + queue);
+            }
+            return new Result(messages, elapsed, consumer.ackFrames);
+        } finally {
+            channel.queueDelete(queue);
+            channel.abort();
+        }
+    }
+
+    private static void publish(Channel channel, String queue, byte[] payload, int messages)
+            throws IOException, InterruptedException, TimeoutException {
+        channel.confirmSelect();
+        for (int i = 1; i <= messages; i++) {
+            channel.basicPublish("", queue, MessageProperties.PERSISTENT_BASIC, payload);
+            if (i % CONFIRM_EVERY == 0 || i == messages) {
+                channel.waitForConfirmsOrDie(TimeUnit.MINUTES.toMillis(1));
+            }
+        }
+    }
+
+    private static SystemLauncher startEmbeddedBroker(int port) throws Exception {
+        Path workDir = Files.createTempDirectory("qpid-ack-mode-bench");
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("type", "Memory");
+        attributes.put("initialConfigurationLocation",
+                AckModeBenchmark.class.getResource("/qpid-embedded.json").toExternalForm());
+        attributes.put("startupLoggedToSystemOut", false);
+        attributes.put("context", Map.of(
+                "qpid.amqp_port", String.valueOf(port),
+                "qpid.work_dir", workDir.toString()));
+        SystemLauncher launcher = new SystemLauncher();
+        launcher.startup(attributes);
+        return launcher;
+    }
+
+    private static String label(int ackEvery, int batch) {
+        return ackEvery == 1 ? "per-message" : "batch-" + batch;
+    }
+
+    private static double median(List<Result> results) {
+        double[] rates = results.stream().mapToDouble(Result::messagesPerSecond).toArray();
+        Arrays.sort(rates);
+        return rates.length == 0 ? 0 : rates[rates.length / 2];
+    }
+
+    /**
+     * Confirma cada ackEvery entregas (multiple=true si es más de una) y siempre la última
+     */
+    private static final class AckingConsumer extends DefaultConsumer {
+
+        private final int expected;
+        private final int ackEvery;
+        private final CountDownLatch done = new CountDownLatch(1);
+        // Solo los modifica el hilo de entrega del canal; se leen tras el latch
+        private int received;
+        private int ackFrames;
+
+        private AckingConsumer(Channel channel, int expected, int ackEvery) {
+            super(channel);
+            this.expected = expected;
+            this.ackEvery = ackEvery;
+        }
+
+        @Override
+        public void handleDelivery(String consumerTag, Envelope envelope, AMQP.BasicProperties properties,
+                                   byte[] body) throws IOException {
+            received++;
+            if (received % ackEvery == 0 || received == expected) {
+                getChannel().basicAck(envelope.getDeliveryTag(), ackEvery > 1);
+                ackFrames++;
+            }
+            if (received == expected) {
+                done.countDown();
+            }
+        }
+    }
+
+    private record Result(int messages, long elapsedNanos, int ackFrames) {
+
+        double messagesPerSecond() {
+            return messages / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d messages in %d ms: %,.0f msg/s, %,d ack frames",
+                    messages, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), messagesPerSecond(), ackFrames);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.ordersystem.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Email lookup benchmark
+ * Siembra N filas en una tabla con los dos índices únicos de users: email VARCHAR2(255),
+ * el de antes de la migración, y email_hash RAW(16), el actual. Mide la latencia de las
+ * dos búsquedas con claves aleatorias (alternando el orden en cada iteración) y, en
+ * Oracle, el tamaño de cada índice en user_segments.
+ * <pre>
+ * mvn -pl benchmarks exec:java -Dexec.mainClass=com.ordersystem.benchmark.EmailLookupBenchmark \
+ *     -Dexec.args="rows=1000000 lookups=100000"
+ * mvn -pl benchmarks exec:java -Dexec.mainClass=com.ordersystem.benchmark.EmailLookupBenchmark \
+ *     -Dexec.args="url=jdbc:oracle:thin:@localhost:1521/XEPDB1 user=system password=Oracle123 rows=5000000"
+ * </pre>
+ * Por defecto usa H2 en memoria (modo Oracle), que da las latencias pero no el tamaño
+ * de los índices. La tabla email_lookup_bench se crea y se borra en cada ejecución.
+ */
+public final class EmailLookupBenchmark {
+
+    private static final String TABLE = "email_lookup_bench";
+    private static final String EMAIL_INDEX = "UX_EMAIL_LOOKUP_BENCH_EMAIL";
+    private static final String HASH_INDEX = "UX_EMAIL_LOOKUP_BENCH_HASH";
+
+    private static final String INSERT_SQL = "INSERT INTO " + TABLE + " (id, email, email_hash) VALUES (?, ?, ?)";
+    // Antes: UserJpaRepository.findByEmail sobre el índice único de email
+    private static final String BY_EMAIL_SQL = "SELECT id FROM " + TABLE + " WHERE email = ?";
+    // Ahora: UserJpaRepository.findByEmailHash (el email descarta colisiones del hash)
+    private static final String BY_HASH_SQL = "SELECT id FROM " + TABLE + " WHERE email_hash = ? AND email = ?";
+
+    private static final String[] FIRST_NAMES = {"maria", "jose", "ana", "juan", "lucia", "carlos", "elena",
+            "francisco", "isabel", "alejandro", "carmen", "javier", "laura", "manuel", "paula", "david"};
+    private static final String[] LAST_NAMES = {"garcia", "rodriguez", "gonzalez", "fernandez", "lopez",
+            "martinez", "sanchez", "perez", "gomez", "martin", "jimenez", "ruiz", "hernandez", "diaz"};
+    private static final String[] DOMAINS = {"gmail.com", "hotmail.com", "yahoo.es", "outlook.com",
+            "empresa-internacional.com", "correo.universidad.edu"};
+
+    private EmailLookupBenchmark() {
+    }
+
+    public static void main(String[] args) throws SQLException {
+        BenchmarkArgs arguments = new BenchmarkArgs(args);
+        String url = arguments.get("url", "jdbc:h2:mem:email-lookup-bench;MODE=Oracle;DB_CLOSE_DELAY=-1");
+        int rows = arguments.getInt("rows", 1_000_000);
+        int lookups = arguments.getInt("lookups", 100_000);
+        int warmUpLookups = arguments.getInt("warmup", 20_000);
+        int batchSize = arguments.getInt("batch-size", 10_000);
+
+        try (Connection connection = DriverManager.getConnection(url, arguments.get("user", "sa"),
+                arguments.get("password", ""))) {
+            boolean oracle = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT)
+                    .contains("oracle");
+            connection.setAutoCommit(false);
+            dropTable(connection, oracle);
+            try {
+                long seedStart = System.currentTimeMillis();
+                createTable(connection);
+                seed(connection, rows, batchSize);
+                createIndexes(connection);
+                System.out.printf("Seeded %d rows and built both indexes in %d ms%n",
+                        rows, System.currentTimeMillis() - seedStart);
+
+                Random random = new Random(42);
+                measure(connection, random, rows, warmUpLookups);
+                long[][] latencies = measure(connection, random, rows, lookups);
+                System.out.printf("email (VARCHAR2 index):  %s%n", new LatencyStats(latencies[0], lookups).summary());
+                System.out.printf("email_hash (RAW(16)):    %s%n", new LatencyStats(latencies[1], lookups).summary());
+
+                if (oracle) {
+                    printIndexSizes(connection);
+                } else {
+                    System.out.println("Index sizes are only reported on Oracle (user_segments)");
+                }
+            } finally {
+                if (!Boolean.parseBoolean(arguments.get("keep", "false"))) {
+                    dropTable(connection, oracle);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cada iteración hace las dos búsquedas sobre la misma clave, alternando cuál va
+     * primero para que ninguna se beneficie siempre de los bloques que cargó la otra
+     */
+    private static long[][] measure(Connection connection, Random random, int rows, int lookups)
+            throws SQLException {
+        long[] byEmail = new long[lookups];
+        long[] byHash = new long[lookups];
+        try (PreparedStatement emailQuery = connection.prepareStatement(BY_EMAIL_SQL);
+             PreparedStatement hashQuery = connection.prepareStatement(BY_HASH_SQL)) {
+            for (int i = 0; i < lookups; i++) {
+                long id = random.nextInt(rows);
+                String email = email(id);
+                if (i % 2 == 0) {
+                    byEmail[i] = lookupByEmail(emailQuery, email, id);
+                    byHash[i] = lookupByHash(hashQuery, email, id);
+                } else {
+                    byHash[i] = lookupByHash(hashQuery, email, id);
+                    byEmail[i] = lookupByEmail(emailQuery, email, id);
+                }
+            }
+        }
+        connection.rollback();
+        return new long[][]{byEmail, byHash};
+    }
+
+    private static long lookupByEmail(PreparedStatement query, String email, long expectedId) throws SQLException {
+        long start = System.nanoTime();
+        query.setString(1, email);
+        long found = singleId(query);
+        long elapsed = System.nanoTime() - start;
+        verify(found, expectedId, email);
+        return elapsed;
+    }
+
+    private static long lookupByHash(PreparedStatement query, String email, long expectedId) throws SQLException {
+        // El hash se calcula en cada búsqueda, como en UserRepositoryAdapter
+        long start = System.nanoTime();
+        query.setBytes(1, hash(email));
+        query.setString(2, email);
+        long found = singleId(query);
+        long elapsed = System.nanoTime() - start;
+        verify(found, expectedId, email);
+        return elapsed;
+    }
+
+    private static long singleId(PreparedStatement query) throws SQLException {
+        try (ResultSet rs = query.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    private static void verify(long found, long expectedId, String email) {
+        if (found != expectedId) {
+            throw new IllegalStateException("Lookup of " + email + " returned " + found + ", expected " + expectedId);
+        }
+    }
+
+    private static void createTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + TABLE + " (id NUMBER(19) PRIMARY KEY, "
+                    + "email VARCHAR2(255) NOT NULL, email_hash RAW(16) NOT NULL)");
+        }
+    }
+
+    /**
+     * Los índices se crean después de la carga: es más rápido y deja los árboles compactos,
+     * igual en los dos
+     */
+    private static void createIndexes(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE UNIQUE INDEX " + EMAIL_INDEX + " ON " + TABLE + " (email)");
+            statement.execute("CREATE UNIQUE INDEX " + HASH_INDEX + " ON " + TABLE + " (email_hash)");
+        }
+        connection.commit();
+    }
+
+    private static void seed(Connection connection, int rows, int batchSize) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            for (long id = 0; id < rows; id++) {
+                String email = email(id);
+                insert.setLong(1, id);
+                insert.setString(2, email);
+                insert.setBytes(3, hash(email));
+                insert.addBatch();
+                if ((id + 1) % batchSize == 0 || id == rows - 1) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+    private static void printIndexSizes(Connection connection) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT segment_name, bytes FROM user_segments WHERE segment_name IN (?, ?) ORDER BY segment_name")) {
+            query.setString(1, EMAIL_INDEX);
+            query.setString(2, HASH_INDEX);
+            try (ResultSet rs = query.executeQuery()) {
+                while (rs.next()) {
+                    System.out.printf("%-28s %8.1f MB%n", rs.getString(1), rs.getLong(2) / 1024.0 / 1024.0);
+                }
+            }
+        }
+    }
+
+    private static void dropTable(Connection connection, boolean oracle) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + TABLE + (oracle ? " PURGE" : ""));
+            connection.commit();
+        } catch (SQLException e) {
+            // No existía
+        }
+    }
+
+    /**
+     * Emails canónicos deterministas de entre 25 y 50 caracteres
+     */
+    private static String email(long id) {
+        return FIRST_NAMES[(int) (id % FIRST_NAMES.length)] + "."
+                + LAST_NAMES[(int) ((id / FIRST_NAMES.length) % LAST_NAMES.length)] + "." + id + "@"
+                + DOMAINS[(int) (id % DOMAINS.length)];
+    }
+
+    /**
+     * Igual que EmailLookupKey.hash en user-service: 16 primeros bytes del SHA-256
+     */
+    private static byte[] hash(String canonicalEmail) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonicalEmail.getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(digest, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ordersystem.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Percentiles de una serie de latencias en nanosegundos
+ */
+final class LatencyStats {
+
+    private final long[] sorted;
+
+    LatencyStats(long[] nanos, int count) {
+        this.sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(this.sorted);
+    }
+
+    double percentileMicros(double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000.0;
+    }
+
+    double meanMicros() {
+        return Arrays.stream(sorted).average().orElse(0) / 1_000.0;
+    }
+
+    String summary() {
+        return String.format("n=%d mean=%.1fus p50=%.1fus p95=%.1fus p99=%.1fus max=%.1fus",
+                sorted.length, meanMicros(), percentileMicros(50), percentileMicros(95), percentileMicros(99),
+                percentileMicros(100));
+    }
+}
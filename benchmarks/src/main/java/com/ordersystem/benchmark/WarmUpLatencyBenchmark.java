@@ -0,0 +1,202 @@
+package com.ordersystem.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Post-deploy latency with and without warm-up (user-service WarmUpRunner)
+ * Arranca el jar de user-service dos veces, con warmup.enabled=true y false, sobre H2
+ * en memoria y sin Eureka. En cuanto /actuator/health/readiness pasa a UP (el momento
+ * en que un balanceador empezaría a enviar tráfico) lanza la misma carga de lecturas
+ * (GET /users/{id}, GET /users/email/{email} y POST /users/batch-lookup con ids
+ * aleatorios) y muestra la latencia de las primeras peticiones por tramos.
+ * <pre>
+ * mvn -pl user-service -am package -DskipTests
+ * mvn -pl benchmarks exec:java -Dexec.mainClass=com.ordersystem.benchmark.WarmUpLatencyBenchmark \
+ *     -Dexec.args="jar=user-service/target/user-service-1.0.0-SNAPSHOT.jar requests=3000 concurrency=8"
+ * </pre>
+ * La salida de cada arranque queda en un fichero temporal cuyo nombre se muestra.
+ */
+public final class WarmUpLatencyBenchmark {
+
+    // Tramos de peticiones (desde la primera tras readiness) que se resumen por separado
+    private static final int[] SEGMENTS = {100, 1_000};
+
+    private WarmUpLatencyBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkArgs arguments = new BenchmarkArgs(args);
+        Path jar = Paths.get(arguments.get("jar", "user-service/target/user-service-1.0.0-SNAPSHOT.jar"));
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException("user-service jar not found: " + jar.toAbsolutePath()
+                    + " (build it with mvn -pl user-service -am package -DskipTests)");
+        }
+        int port = arguments.getInt("port", 18081);
+        int requests = arguments.getInt("requests", 3_000);
+        int concurrency = arguments.getInt("concurrency", 8);
+        Duration startupTimeout = arguments.getDuration("startup-timeout", Duration.ofMinutes(3));
+
+        for (boolean warmUp : new boolean[]{false, true}) {
+            Run run = measure(jar, port, warmUp, requests, concurrency, startupTimeout);
+            System.out.printf("%nwarmup.enabled=%s: ready after %d ms (log: %s)%n",
+                    warmUp, run.readyAfterMillis(), run.log());
+            int from = 0;
+            for (int segment : SEGMENTS) {
+                if (segment > requests) {
+                    break;
+                }
+                System.out.printf("  requests %5d-%-5d %s%n", from + 1, segment,
+                        new LatencyStats(slice(run.latencies(), from, segment), segment - from).summary());
+                from = segment;
+            }
+            System.out.printf("  requests %5d-%-5d %s%n", from + 1, requests,
+                    new LatencyStats(slice(run.latencies(), from, requests), requests - from).summary());
+            if (run.errors() > 0) {
+                System.out.printf("  %d requests failed%n", run.errors());
+            }
+        }
+    }
+
+    private static Run measure(Path jar, int port, boolean warmUp, int requests, int concurrency,
+                               Duration startupTimeout) throws Exception {
+        Path log = Files.createTempFile("user-service-warmup-" + warmUp + "-", ".log");
+        List<String> command = List.of(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", jar.toString(),
+                "--server.port=" + port,
+                "--warmup.enabled=" + warmUp,
+                "--spring.datasource.url=jdbc:h2:mem:warmup-bench;MODE=Oracle;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.ordersystem.user=INFO",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--eureka.client.enabled=false",
+                "--tracing.enabled=false",
+                "--concurrency-limit.enabled=false");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        String baseUrl = "http://localhost:" + port;
+        try {
+            long launched = System.nanoTime();
+            awaitReady(client, baseUrl, process, startupTimeout);
+            long readyAfterMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launched);
+
+            long[] latencies = new long[requests];
+            AtomicInteger next = new AtomicInteger();
+            AtomicInteger errors = new AtomicInteger();
+            ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < concurrency; i++) {
+                    futures.add(clients.submit(() -> {
+                        int index;
+                        while ((index = next.getAndIncrement()) < requests) {
+                            long start = System.nanoTime();
+                            if (!send(client, baseUrl, index)) {
+                                errors.incrementAndGet();
+                            }
+                            latencies[index] = System.nanoTime() - start;
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                clients.shutdownNow();
+            }
+            return new Run(readyAfterMillis, latencies, errors.get(), log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Mezcla de lecturas sin datos sembrados: sembrar antes calentaría el JIT
+     * y falsearía la medida sin warm-up. Los 404 recorren igualmente Hikari,
+     * Hibernate, el índice y el manejo de errores.
+     */
+    private static boolean send(HttpClient client, String baseUrl, int index) {
+        HttpRequest request = switch (index % 3) {
+            case 0 -> HttpRequest.newBuilder(URI.create(baseUrl + "/users/" + UUID.randomUUID())).GET().build();
+            case 1 -> HttpRequest.newBuilder(URI.create(baseUrl + "/users/email/bench." + index + "@example.com"))
+                    .GET().build();
+            default -> HttpRequest.newBuilder(URI.create(baseUrl + "/users/batch-lookup"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(IntStream.range(0, 20)
+                            .mapToObj(i -> "\"" + UUID.randomUUID() + "\"")
+                            .collect(Collectors.joining(",", "{\"ids\":[", "]}"))))
+                    .build();
+        };
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status == 200 || status == 404;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void awaitReady(HttpClient client, String baseUrl, Process process, Duration timeout)
+            throws InterruptedException {
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(2))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() - deadline < 0) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("user-service exited with code " + process.exitValue());
+            }
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Aún no escucha
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("user-service not ready after " + timeout);
+    }
+
+    private static long[] slice(long[] values, int from, int to) {
+        long[] slice = new long[to - from];
+        System.arraycopy(values, from, slice, 0, slice.length);
+        return slice;
+    }
+
+    private record Run(long readyAfterMillis, long[] latencies, int errors, Path log) {
+    }
+}
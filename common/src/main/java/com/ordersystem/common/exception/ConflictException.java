@@ -0,0 +1,7 @@
+package com.ordersystem.common.exception;
+
+public class ConflictException extends BusinessException {
+    public ConflictException(String code, String message) {
+        super(code, message);
+    }
+}
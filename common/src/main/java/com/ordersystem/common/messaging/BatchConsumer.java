@@ -0,0 +1,171 @@
+package com.ordersystem.common.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareBatchMessageListener;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch listener with manual acknowledgement.
+ * Decodes every message, hands the batch to the handler and acknowledges the
+ * whole batch with a single multiple ack. Poison messages are republished to
+ * the dead-letter queue before the ack so they never block the batch.
+ */
+@Slf4j
+public class BatchConsumer<T> implements ChannelAwareBatchMessageListener {
+
+    private final String queue;
+    private final String deadLetterQueue;
+    private final Class<T> payloadType;
+    private final BatchHandler<T> handler;
+    private final ObjectMapper objectMapper;
+
+    private final Counter processed;
+    private final Counter deadLettered;
+    private final DistributionSummary batchSizes;
+    private final Timer batchDuration;
+    private final Timer lag;
+
+    public BatchConsumer(String queue, String deadLetterQueue, Class<T> payloadType, BatchHandler<T> handler,
+                         ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.queue = queue;
+        this.deadLetterQueue = deadLetterQueue;
+        this.payloadType = payloadType;
+        this.handler = handler;
+        this.objectMapper = objectMapper;
+        this.processed = Counter.builder("rabbitmq.consumer.messages")
+                .tag("queue", queue).tag("outcome", "processed")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("rabbitmq.consumer.messages")
+                .tag("queue", queue).tag("outcome", "dead_lettered")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("rabbitmq.consumer.batch.size")
+                .tag("queue", queue)
+                .register(meterRegistry);
+        this.batchDuration = Timer.builder("rabbitmq.consumer.batch.duration")
+                .tag("queue", queue)
+                .register(meterRegistry);
+        this.lag = Timer.builder("rabbitmq.consumer.lag")
+                .description("Time between publish and consumption, for messages carrying a timestamp")
+                .tag("queue", queue)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onMessageBatch(List<Message> messages, Channel channel) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+
+        List<Message> decodedMessages = new ArrayList<>(messages.size());
+        List<T> payloads = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            recordLag(message, now);
+            try {
+                payloads.add(decode(message));
+                decodedMessages.add(message);
+            } catch (IOException | RuntimeException e) {
+                deadLetter(channel, message, e);
+            }
+        }
+
+        if (!payloads.isEmpty()) {
+            try {
+                handler.handle(payloads);
+                processed.increment(payloads.size());
+            } catch (RuntimeException e) {
+                log.warn("Batch of {} messages failed on queue {}, retrying one by one: {}",
+                        payloads.size(), queue, e.getMessage());
+                handleIndividually(channel, decodedMessages, payloads);
+            }
+        }
+
+        acknowledge(channel, messages);
+        batchSizes.record(messages.size());
+        batchDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void handleIndividually(Channel channel, List<Message> messages, List<T> payloads) {
+        for (int i = 0; i < payloads.size(); i++) {
+            try {
+                handler.handle(List.of(payloads.get(i)));
+                processed.increment();
+            } catch (RuntimeException e) {
+                deadLetter(channel, messages.get(i), e);
+            }
+        }
+    }
+
+    /**
+     * Un único basicAck con multiple=true confirma todas las entregas del lote
+     */
+    private void acknowledge(Channel channel, List<Message> messages) {
+        long lastDeliveryTag = messages.get(messages.size() - 1).getMessageProperties().getDeliveryTag();
+        try {
+            channel.basicAck(lastDeliveryTag, true);
+        } catch (IOException e) {
+            throw new AmqpIOException(e);
+        }
+    }
+
+    private T decode(Message message) throws IOException {
+        JsonNode node = objectMapper.readTree(message.getBody());
+        // Los publicadores que envían JSON ya serializado como String llegan doblemente codificados
+        if (node.isTextual()) {
+            node = objectMapper.readTree(node.asText());
+        }
+        return objectMapper.treeToValue(node, payloadType);
+    }
+
+    private void deadLetter(Channel channel, Message message, Exception cause) {
+        log.error("Dead-lettering message from queue {}: {}", queue, cause.getMessage());
+        MessageProperties original = message.getMessageProperties();
+
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("x-original-queue", queue);
+        headers.put("x-exception-message", String.valueOf(cause.getMessage()));
+        headers.put("x-exception-type", cause.getClass().getName());
+
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .contentType(original.getContentType())
+                .contentEncoding(original.getContentEncoding())
+                .messageId(original.getMessageId())
+                .timestamp(original.getTimestamp())
+                .deliveryMode(2)
+                .headers(headers)
+                .build();
+        try {
+            channel.basicPublish("", deadLetterQueue, properties, message.getBody());
+            deadLettered.increment();
+        } catch (IOException e) {
+            throw new AmqpIOException(e);
+        }
+    }
+
+    private void recordLag(Message message, long now) {
+        Date timestamp = message.getMessageProperties().getTimestamp();
+        if (timestamp != null) {
+            lag.record(Duration.ofMillis(Math.max(0, now - timestamp.getTime())));
+        }
+    }
+}
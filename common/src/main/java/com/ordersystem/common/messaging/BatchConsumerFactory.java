@@ -0,0 +1,111 @@
+package com.ordersystem.common.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds batch consumer containers.
+ * Services declare the returned container as a bean so Spring manages its lifecycle:
+ *
+ * <pre>
+ * &#64;Bean
+ * public SimpleMessageListenerContainer orderCreatedConsumer(BatchConsumerFactory factory) {
+ *     return factory.create(BatchConsumerProperties.builder().queue("order.created.queue").build(),
+ *             OrderCreatedEvent.class, handler::onOrdersCreated);
+ * }
+ * </pre>
+ *
+ * The dead-letter queue ({@code <queue>.dlq} unless {@link BatchConsumerProperties#getDeadLetterQueue()}
+ * overrides it) must be declared too, see {@link #deadLetterQueue(String)}.
+ */
+@RequiredArgsConstructor
+public class BatchConsumerFactory {
+
+    private static final String DEAD_LETTER_SUFFIX = ".dlq";
+
+    private final ConnectionFactory connectionFactory;
+    private final AmqpAdmin amqpAdmin;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public <T> SimpleMessageListenerContainer create(BatchConsumerProperties properties,
+                                                     Class<T> payloadType,
+                                                     BatchHandler<T> handler) {
+        SimpleMessageListenerContainer container = new SimpleMessageListenerContainer(connectionFactory);
+        container.setQueueNames(properties.getQueue());
+        container.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        container.setPrefetchCount(properties.getPrefetchCount());
+        container.setConsumerBatchEnabled(true);
+        container.setDeBatchingEnabled(true);
+        container.setBatchSize(properties.getBatchSize());
+        container.setReceiveTimeout(properties.getReceiveTimeoutMs());
+
+        // El contenedor añade consumidores mientras hay backlog y los retira cuando está ocioso
+        container.setConcurrentConsumers(properties.getConcurrentConsumers());
+        container.setMaxConcurrentConsumers(properties.getMaxConcurrentConsumers());
+        container.setConsecutiveActiveTrigger(properties.getConsecutiveActiveTrigger());
+        container.setConsecutiveIdleTrigger(properties.getConsecutiveIdleTrigger());
+
+        container.setMessageListener(new BatchConsumer<>(
+                properties.getQueue(), properties.getDeadLetterQueue(), payloadType, handler,
+                objectMapper, meterRegistry));
+
+        registerBacklogGauge(properties.getQueue(), properties.getBacklogRefreshMs());
+        return container;
+    }
+
+    public static Queue deadLetterQueue(String queue) {
+        return QueueBuilder.durable(deadLetterQueueName(queue)).build();
+    }
+
+    public static String deadLetterQueueName(String queue) {
+        return queue + DEAD_LETTER_SUFFIX;
+    }
+
+    private void registerBacklogGauge(String queue, long refreshMs) {
+        CachedBacklog backlog = new CachedBacklog(queue, refreshMs);
+        Gauge.builder("rabbitmq.consumer.backlog", backlog, CachedBacklog::get)
+                .description("Messages ready in the queue and not yet delivered")
+                .tag("queue", queue)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Backlog leído del broker como mucho una vez por intervalo: sin caché cada scrape
+     * de métricas haría una ida y vuelta al broker por cola
+     */
+    private final class CachedBacklog {
+        private final String queue;
+        private final long refreshNanos;
+        private long value;
+        private long readAt;
+        private boolean loaded;
+
+        private CachedBacklog(String queue, long refreshMs) {
+            this.queue = queue;
+            this.refreshNanos = TimeUnit.MILLISECONDS.toNanos(refreshMs);
+        }
+
+        private synchronized double get() {
+            long now = System.nanoTime();
+            if (!loaded || now - readAt >= refreshNanos) {
+                QueueInformation info = amqpAdmin.getQueueInfo(queue);
+                value = info != null ? info.getMessageCount() : 0;
+                readAt = now;
+                loaded = true;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ordersystem.common.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tuning for a batch consumer
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchConsumerProperties {
+    private String queue;
+
+    // Por defecto <queue>.dlq; las colas con nombre generado necesitan uno fijo
+    private String deadLetterQueue;
+
+    @Builder.Default
+    private int prefetchCount = 250;
+
+    @Builder.Default
+    private int batchSize = 100;
+
+    @Builder.Default
+    private long receiveTimeoutMs = 200;
+
+    @Builder.Default
+    private int concurrentConsumers = 1;
+
+    @Builder.Default
+    private int maxConcurrentConsumers = 4;
+
+    @Builder.Default
+    private int consecutiveActiveTrigger = 10;
+
+    @Builder.Default
+    private int consecutiveIdleTrigger = 10;
+
+    // Cada lectura del backlog es un queue.declare pasivo contra el broker
+    @Builder.Default
+    private long backlogRefreshMs = 15_000;
+
+    public String getDeadLetterQueue() {
+        return deadLetterQueue != null ? deadLetterQueue : BatchConsumerFactory.deadLetterQueueName(queue);
+    }
+}
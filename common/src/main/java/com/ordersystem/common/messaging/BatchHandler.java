@@ -0,0 +1,13 @@
+package com.ordersystem.common.messaging;
+
+import java.util.List;
+
+/**
+ * Handler for a batch of decoded message payloads.
+ * Throwing causes the batch to be retried message by message so that
+ * only the failing messages are dead-lettered.
+ */
+@FunctionalInterface
+public interface BatchHandler<T> {
+    void handle(List<T> payloads);
+}
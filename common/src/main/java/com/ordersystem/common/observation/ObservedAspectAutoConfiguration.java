@@ -0,0 +1,26 @@
+package com.ordersystem.common.observation;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.boot.actuate.autoconfigure.observation.ObservationAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Observed Aspect Configuration
+ * Convierte los métodos {@code @Observed} en observaciones, que llegan igual a métricas,
+ * trazas y JFR. Se declara una sola vez aquí, al margen de los interruptores de tracing
+ * y profiling; solo se activa donde AspectJ está en el classpath.
+ */
+@AutoConfiguration(after = ObservationAutoConfiguration.class)
+@ConditionalOnClass(value = ObservedAspect.class, name = "org.aspectj.weaver.Advice")
+public class ObservedAspectAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+}
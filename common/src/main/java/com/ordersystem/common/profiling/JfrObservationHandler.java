@@ -0,0 +1,44 @@
+package com.ordersystem.common.profiling;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+
+/**
+ * JFR Observation Handler
+ * Emite un {@link ObservationJfrEvent} por cada observación: las operaciones observadas
+ * aparecen en la línea de tiempo de JFR junto a GC, bloqueos y E/S de sockets. Si
+ * ninguna grabación tiene el evento activo no se guarda nada en el contexto.
+ */
+public class JfrObservationHandler implements ObservationHandler<Observation.Context> {
+
+    @Override
+    public void onStart(Observation.Context context) {
+        ObservationJfrEvent event = new ObservationJfrEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            context.put(ObservationJfrEvent.class, event);
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        ObservationJfrEvent event = context.get(ObservationJfrEvent.class);
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.name = context.getName();
+            event.contextualName = context.getContextualName();
+            if (context.getError() != null) {
+                event.error = context.getError().getClass().getName();
+            }
+            event.commit();
+        }
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return true;
+    }
+}
@@ -0,0 +1,153 @@
+package com.ordersystem.common.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JFR Recording Endpoint
+ * Grabaciones de Java Flight Recorder bajo demanda desde Actuator:
+ * <ul>
+ *     <li>{@code GET /actuator/jfr}: grabaciones</li>
+ *     <li>{@code POST /actuator/jfr} {@code {"settings": "profile", "duration": "60s", "maxSize": "50MB"}}: inicio</li>
+ *     <li>{@code POST /actuator/jfr/{id}}: parada y descarga del fichero .jfr</li>
+ *     <li>{@code DELETE /actuator/jfr/{id}}: descarte</li>
+ * </ul>
+ * Duración y tamaño están acotados y solo hay una grabación a la vez. Los eventos que
+ * capturan el entorno, las propiedades del sistema o los argumentos de la JVM (y con
+ * ellos las credenciales pasadas así) están siempre desactivados. Por defecto no se
+ * expone por HTTP; solo debe exponerse en un puerto de gestión no accesible desde fuera.
+ */
+@Slf4j
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final String DEFAULT_SETTINGS = "profile";
+
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.JVMInformation");
+
+    private final Path directory;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+
+    public JfrRecordingEndpoint(Path directory, Duration maxDuration, DataSize maxSize) {
+        this.directory = directory;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    @ReadOperation
+    public List<RecordingDescriptor> recordings() {
+        return recordings.values().stream()
+                .sorted(Comparator.comparingLong(Recording::getId))
+                .map(RecordingDescriptor::of)
+                .toList();
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<RecordingDescriptor> start(@Nullable String settings,
+                                                                       @Nullable Duration duration,
+                                                                       @Nullable DataSize maxSize) throws IOException {
+        boolean running = recordings.values().stream()
+                .anyMatch(recording -> recording.getState() == RecordingState.RUNNING);
+        if (running) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : DEFAULT_SETTINGS);
+        } catch (ParseException | IOException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        Files.createDirectories(directory);
+        Recording recording = new Recording(configuration);
+        SENSITIVE_EVENTS.forEach(recording::disable);
+        recording.setName("on-demand-" + Instant.now().getEpochSecond());
+        recording.setToDisk(true);
+        recording.setDuration(cap(duration, maxDuration));
+        recording.setMaxSize(Math.min(maxSize != null ? maxSize.toBytes() : Long.MAX_VALUE, this.maxSize.toBytes()));
+        recording.setDestination(directory.resolve(recording.getName() + ".jfr"));
+        recording.start();
+        recordings.put(recording.getId(), recording);
+
+        log.info("Started JFR recording {} ({}, duration {})", recording.getId(), configuration.getName(),
+                recording.getDuration());
+        return new WebEndpointResponse<>(RecordingDescriptor.of(recording));
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Resource> stop(@Selector long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            // Al parar, JFR vuelca la grabación en su destino
+            recording.stop();
+            log.info("Stopped JFR recording {}", id);
+        }
+        Path file = recording.getDestination();
+        if (file == null || !Files.exists(file)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Void> delete(@Selector long id) throws IOException {
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = recording.getDestination();
+        recording.close();
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+        return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NO_CONTENT);
+    }
+
+    private static Duration cap(Duration requested, Duration max) {
+        return requested == null || requested.compareTo(max) > 0 ? max : requested;
+    }
+
+    public record RecordingDescriptor(long id, String name, String state, Instant startTime,
+                                      Duration duration, long maxSize, String file) {
+
+        static RecordingDescriptor of(Recording recording) {
+            Path destination = recording.getDestination();
+            return new RecordingDescriptor(recording.getId(), recording.getName(), recording.getState().name(),
+                    recording.getStartTime(), recording.getDuration(), recording.getMaxSize(),
+                    destination != null ? destination.toString() : null);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.ordersystem.common.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Observation JFR Event
+ * Evento JFR de una observación de Micrometer (petición, llamada al repositorio, publicación, ...)
+ */
+@Name("com.ordersystem.Observation")
+@Label("Observation")
+@Category({"Order System"})
+@Description("Duration of an observed operation")
+@StackTrace(false)
+public class ObservationJfrEvent extends Event {
+
+    @Label("Name")
+    String name;
+
+    @Label("Contextual Name")
+    String contextualName;
+
+    @Label("Error")
+    String error;
+}
@@ -0,0 +1,40 @@
+package com.ordersystem.common.profiling;
+
+import io.micrometer.observation.ObservationHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Profiling Configuration
+ * Endpoint /actuator/jfr y eventos JFR para cada observación, en todos los servicios
+ * que dependen de common. Cada servicio decide con management.endpoints.web.exposure
+ * si el endpoint es accesible por HTTP.
+ */
+@AutoConfiguration
+@ConditionalOnClass({Endpoint.class, ObservationHandler.class})
+@ConditionalOnProperty(name = "profiling.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class ProfilingAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JfrRecordingEndpoint jfrRecordingEndpoint(@Value("${profiling.jfr.directory}") Path directory,
+                                                     @Value("${profiling.jfr.max-duration:5m}") Duration maxDuration,
+                                                     @Value("${profiling.jfr.max-size:200MB}") DataSize maxSize) {
+        return new JfrRecordingEndpoint(directory, maxDuration, maxSize);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JfrObservationHandler jfrObservationHandler() {
+        return new JfrObservationHandler();
+    }
+}
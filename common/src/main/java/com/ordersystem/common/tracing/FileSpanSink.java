@@ -0,0 +1,181 @@
+package com.ordersystem.common.tracing;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.exporter.FinishedSpan;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * File Span Sink
+ * Escribe los spans como NDJSON (nombres de campo de Zipkin v2) en un fichero local
+ * desde un hilo de fondo. Al llegar a maxFileSize el fichero rota a {@code <file>.1}.
+ * Con la cola llena los spans se descartan: nunca se bloquean los hilos de las peticiones.
+ */
+@Slf4j
+public class FileSpanSink implements SpanSink, Closeable {
+
+    private static final int DRAIN_BATCH = 512;
+
+    private final Path file;
+    private final long maxFileSize;
+    private final BlockingQueue<FinishedSpan> queue;
+    private final Counter dropped;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Thread writer;
+
+    private volatile boolean running = true;
+    private OutputStream out;
+    private long written;
+
+    public FileSpanSink(Path file, long maxFileSize, int queueCapacity, MeterRegistry meterRegistry) {
+        this.file = file;
+        this.maxFileSize = maxFileSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.dropped = Counter.builder("tracing.spans.dropped")
+                .tag("sink", "file")
+                .register(meterRegistry);
+        this.jsonFactory.setRootValueSeparator(null);
+        this.writer = new Thread(this::drainLoop, "span-file-sink");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void accept(FinishedSpan span) {
+        if (!queue.offer(span)) {
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(Duration.ofSeconds(5).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        List<FinishedSpan> batch = new ArrayList<>(DRAIN_BATCH);
+        try {
+            while (running || !queue.isEmpty()) {
+                FinishedSpan first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, DRAIN_BATCH - 1);
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            queue.drainTo(batch);
+            write(batch);
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    private void write(List<FinishedSpan> spans) {
+        if (spans.isEmpty()) {
+            return;
+        }
+        try {
+            OutputStream stream = stream();
+            try (JsonGenerator json = jsonFactory.createGenerator(stream, JsonEncoding.UTF8)) {
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                for (FinishedSpan span : spans) {
+                    writeSpan(json, span);
+                    json.writeRaw('\n');
+                }
+            }
+            stream.flush();
+            written = Files.size(file);
+        } catch (IOException e) {
+            log.warn("Could not write {} spans to {}: {}", spans.size(), file, e.getMessage());
+            dropped.increment(spans.size());
+            closeQuietly();
+        }
+    }
+
+    private void writeSpan(JsonGenerator json, FinishedSpan span) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("traceId", span.getTraceId());
+        json.writeStringField("id", span.getSpanId());
+        if (span.getParentId() != null) {
+            json.writeStringField("parentId", span.getParentId());
+        }
+        json.writeStringField("name", span.getName());
+        if (span.getKind() != null) {
+            json.writeStringField("kind", span.getKind().name());
+        }
+        json.writeNumberField("timestamp", ChronoUnit.MICROS.between(Instant.EPOCH, span.getStartTimestamp()));
+        json.writeNumberField("duration", ChronoUnit.MICROS.between(span.getStartTimestamp(), span.getEndTimestamp()));
+        json.writeObjectFieldStart("localEndpoint");
+        json.writeStringField("serviceName", span.getLocalServiceName());
+        json.writeEndObject();
+        if (span.getRemoteServiceName() != null) {
+            json.writeObjectFieldStart("remoteEndpoint");
+            json.writeStringField("serviceName", span.getRemoteServiceName());
+            json.writeEndObject();
+        }
+        json.writeObjectFieldStart("tags");
+        for (Map.Entry<String, String> tag : span.getTags().entrySet()) {
+            json.writeStringField(tag.getKey(), tag.getValue());
+        }
+        if (span.getError() != null && !span.getTags().containsKey("error")) {
+            json.writeStringField("error", span.getError().getClass().getSimpleName());
+        }
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private OutputStream stream() throws IOException {
+        if (out != null && written >= maxFileSize) {
+            closeQuietly();
+            Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (out == null) {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            written = Files.size(file);
+        }
+        return out;
+    }
+
+    private void closeQuietly() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+                // el fichero se reabre en la siguiente escritura
+            }
+            out = null;
+        }
+    }
+}
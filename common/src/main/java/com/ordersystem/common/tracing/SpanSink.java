@@ -0,0 +1,12 @@
+package com.ordersystem.common.tracing;
+
+import io.micrometer.tracing.exporter.FinishedSpan;
+
+/**
+ * Span Sink
+ * Destino de los spans muestreados (fichero local, colector, ...)
+ */
+public interface SpanSink {
+
+    void accept(FinishedSpan span);
+}
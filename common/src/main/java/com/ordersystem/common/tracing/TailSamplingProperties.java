@@ -0,0 +1,43 @@
+package com.ordersystem.common.tracing;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Tail sampling configuration (tracing.sampling.*)
+ * Reglas de muestreo de {@link TailSamplingSpanHandler}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TailSamplingProperties {
+
+    /**
+     * Fracción de trazas exportadas siempre; se decide por traceId, igual en todos los servicios
+     */
+    @Builder.Default
+    private double headProbability = 0.1;
+
+    @Builder.Default
+    private boolean keepErrors = true;
+
+    /**
+     * Trazas locales más lentas que esto se exportan siempre
+     */
+    @Builder.Default
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    @Builder.Default
+    private int maxPendingTraces = 10_000;
+
+    /**
+     * Spans cuyo span raíz local no termina en este tiempo se descartan
+     */
+    @Builder.Default
+    private Duration maxTraceDuration = Duration.ofMinutes(1);
+}
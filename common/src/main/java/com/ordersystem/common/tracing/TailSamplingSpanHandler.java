@@ -0,0 +1,140 @@
+package com.ordersystem.common.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.brave.bridge.BraveFinishedSpan;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tail Sampling Span Handler
+ * Decide el muestreo al terminar cada traza local y no al empezarla. Los spans se
+ * acumulan por span raíz local; cuando este termina, la traza local completa se
+ * exporta si su traceId está en la fracción muestreada, si ha fallado o si ha sido
+ * lenta. Requiere que Brave registre todas las trazas ({@code Sampler.ALWAYS_SAMPLE}).
+ */
+public class TailSamplingSpanHandler extends SpanHandler {
+
+    private static final long SAMPLING_BUCKETS = 10_000;
+    private static final int PURGE_EVERY = 1_000;
+
+    private final TailSamplingProperties properties;
+    private final SpanSink sink;
+    private final long headThreshold;
+    private final long slowThresholdMicros;
+    private final long maxTraceDurationNanos;
+
+    private final Map<Long, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger sinceLastPurge = new AtomicInteger();
+
+    private final Counter exported;
+    private final Counter discarded;
+    private final Counter overflowed;
+
+    public TailSamplingSpanHandler(TailSamplingProperties properties, SpanSink sink, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sink = sink;
+        this.headThreshold = Math.round(properties.getHeadProbability() * SAMPLING_BUCKETS);
+        this.slowThresholdMicros = properties.getSlowThreshold().toNanos() / 1_000;
+        this.maxTraceDurationNanos = properties.getMaxTraceDuration().toNanos();
+
+        this.exported = Counter.builder("tracing.traces")
+                .tag("decision", "exported")
+                .register(meterRegistry);
+        this.discarded = Counter.builder("tracing.traces")
+                .tag("decision", "discarded")
+                .register(meterRegistry);
+        this.overflowed = Counter.builder("tracing.spans.overflow")
+                .description("Spans dropped because too many local traces were pending")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.ABANDONED) {
+            return true;
+        }
+
+        long localRootId = context.localRootId();
+        if (context.spanId() != localRootId) {
+            buffer(localRootId, span);
+            return true;
+        }
+
+        PendingTrace trace = pending.remove(localRootId);
+        List<MutableSpan> spans = trace != null ? trace.spans() : new ArrayList<>(1);
+        spans.add(span);
+
+        if (shouldExport(context, span, spans)) {
+            exported.increment();
+            for (MutableSpan finished : spans) {
+                sink.accept(BraveFinishedSpan.fromBrave(finished));
+            }
+        } else {
+            discarded.increment();
+        }
+
+        if (sinceLastPurge.incrementAndGet() >= PURGE_EVERY) {
+            sinceLastPurge.set(0);
+            purgeAbandoned();
+        }
+        return true;
+    }
+
+    private void buffer(long localRootId, MutableSpan span) {
+        PendingTrace trace = pending.get(localRootId);
+        if (trace == null) {
+            if (pending.size() >= properties.getMaxPendingTraces()) {
+                overflowed.increment();
+                return;
+            }
+            trace = pending.computeIfAbsent(localRootId, id -> new PendingTrace(System.nanoTime(), new ArrayList<>()));
+        }
+        synchronized (trace) {
+            trace.spans().add(span);
+        }
+    }
+
+    private boolean shouldExport(TraceContext context, MutableSpan root, List<MutableSpan> spans) {
+        if (isHeadSampled(context)) {
+            return true;
+        }
+        if (root.finishTimestamp() - root.startTimestamp() >= slowThresholdMicros) {
+            return true;
+        }
+        if (properties.isKeepErrors()) {
+            for (MutableSpan span : spans) {
+                if (span.error() != null || span.tag("error") != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Misma decisión en todos los servicios para un mismo traceId
+    private boolean isHeadSampled(TraceContext context) {
+        return Math.floorMod(context.traceId(), SAMPLING_BUCKETS) < headThreshold;
+    }
+
+    private void purgeAbandoned() {
+        long now = System.nanoTime();
+        Iterator<PendingTrace> iterator = pending.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().startedAt() > maxTraceDurationNanos) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private record PendingTrace(long startedAt, List<MutableSpan> spans) {
+    }
+}
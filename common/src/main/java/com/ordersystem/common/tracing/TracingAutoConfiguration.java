@@ -0,0 +1,70 @@
+package com.ordersystem.common.tracing;
+
+import brave.Tracing;
+import brave.sampler.Sampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.tracing.BraveAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Tracing Configuration
+ * Tail sampling para todos los servicios que dependen de common y tienen Brave en el
+ * classpath. Con tail sampling activo Brave registra todas las trazas y
+ * {@link TailSamplingSpanHandler} decide la exportación al terminar el span raíz local
+ * (muestreo por traceId, errores o lentitud). Sin él, el muestreo es solo head-based y
+ * las trazas no muestreadas no se registran. Va antes de la autoconfiguración de Brave
+ * de Boot para que prevalezca su {@link Sampler}.
+ */
+@AutoConfiguration(before = BraveAutoConfiguration.class)
+@ConditionalOnClass({Tracing.class, MeterRegistry.class})
+@ConditionalOnProperty(name = "tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingAutoConfiguration {
+
+    @Value("${tracing.sampling.head-probability:0.1}")
+    private double headProbability;
+
+    @Value("${tracing.sampling.tail.enabled:true}")
+    private boolean tailSamplingEnabled;
+
+    @Bean
+    @ConditionalOnMissingBean
+    public Sampler tracingSampler() {
+        return tailSamplingEnabled ? Sampler.ALWAYS_SAMPLE : Sampler.create((float) headProbability);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(SpanSink.class)
+    public FileSpanSink fileSpanSink(@Value("${tracing.sink.file.path}") Path path,
+                                     @Value("${tracing.sink.file.max-size:100MB}") DataSize maxSize,
+                                     @Value("${tracing.sink.file.queue-capacity:10000}") int queueCapacity,
+                                     MeterRegistry meterRegistry) {
+        return new FileSpanSink(path, maxSize.toBytes(), queueCapacity, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TailSamplingSpanHandler tailSamplingSpanHandler(
+            SpanSink spanSink,
+            @Value("${tracing.sampling.tail.slow-threshold:500ms}") Duration slowThreshold,
+            @Value("${tracing.sampling.tail.keep-errors:true}") boolean keepErrors,
+            @Value("${tracing.sampling.tail.max-pending-traces:10000}") int maxPendingTraces,
+            MeterRegistry meterRegistry) {
+        // Sin tail sampling Brave ya ha muestreado: se exporta todo lo registrado
+        TailSamplingProperties properties = TailSamplingProperties.builder()
+                .headProbability(tailSamplingEnabled ? headProbability : 1.0)
+                .keepErrors(keepErrors)
+                .slowThreshold(slowThreshold)
+                .maxPendingTraces(maxPendingTraces)
+                .build();
+        return new TailSamplingSpanHandler(properties, spanSink, meterRegistry);
+    }
+}
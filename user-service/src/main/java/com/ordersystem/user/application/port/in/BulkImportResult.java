@@ -0,0 +1,21 @@
+package com.ordersystem.user.application.port.in;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Result of a bulk import batch
+ * rejected: posición en el lote -> motivo del rechazo
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResult {
+    private int imported;
+    private Map<Integer, String> rejected;
+}
@@ -0,0 +1,29 @@
+package com.ordersystem.user.application.port.in;
+
+import com.ordersystem.user.domain.model.UserStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Command for a bulk status change
+ * Se selecciona por lista de ids o por criterio (dominio de email y,
+ * opcionalmente, estado actual), pero no por ambos
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusChangeCommand {
+    @NotNull(message = "Target status is required")
+    private UserStatus targetStatus;
+
+    private List<UUID> userIds;
+    private String emailDomain;
+    private UserStatus currentStatus;
+}
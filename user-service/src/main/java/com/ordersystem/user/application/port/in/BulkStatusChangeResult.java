@@ -0,0 +1,23 @@
+package com.ordersystem.user.application.port.in;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of a bulk status change call
+ * hasMore: quedan usuarios que cumplen el criterio; se repite la misma petición
+ * hasta que sea false
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusChangeResult {
+    private List<UUID> userIds;
+    private boolean hasMore;
+}
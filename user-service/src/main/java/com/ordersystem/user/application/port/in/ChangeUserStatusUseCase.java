@@ -0,0 +1,9 @@
+package com.ordersystem.user.application.port.in;
+
+/**
+ * Input Port - Change User Status Use Case
+ * Cambio de estado masivo acotado por llamada; devuelve los ids realmente modificados
+ */
+public interface ChangeUserStatusUseCase {
+    BulkStatusChangeResult changeStatus(BulkStatusChangeCommand command);
+}
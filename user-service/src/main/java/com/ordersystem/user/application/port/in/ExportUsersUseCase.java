@@ -0,0 +1,10 @@
+package com.ordersystem.user.application.port.in;
+
+import java.io.OutputStream;
+
+/**
+ * Input Port - Export Users Use Case
+ */
+public interface ExportUsersUseCase {
+    void exportUsers(UserFileFormat format, OutputStream output);
+}
@@ -2,6 +2,7 @@ package com.ordersystem.user.application.port.in;
 
 import com.ordersystem.user.domain.model.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,5 +13,7 @@ import java.util.UUID;
 public interface GetUserUseCase {
     Optional<User> getUserById(UUID id);
     Optional<User> getUserByEmail(String email);
+    UserBatchLookupResult getUsersByIds(Collection<UUID> ids);
     List<User> getAllUsers();
+    List<UserChange> getUserChanges(UserChangesQuery query);
 }
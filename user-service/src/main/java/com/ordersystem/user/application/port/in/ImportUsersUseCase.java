@@ -0,0 +1,12 @@
+package com.ordersystem.user.application.port.in;
+
+import java.util.List;
+
+/**
+ * Input Port - Import Users Use Case
+ * Crea un lote de usuarios en una sola transacción; las filas inválidas o
+ * duplicadas se rechazan sin abortar el resto del lote
+ */
+public interface ImportUsersUseCase {
+    BulkImportResult importUsers(List<CreateUserCommand> commands);
+}
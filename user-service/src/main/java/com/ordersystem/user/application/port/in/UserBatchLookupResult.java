@@ -0,0 +1,23 @@
+package com.ordersystem.user.application.port.in;
+
+import com.ordersystem.user.domain.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of a batch lookup by IDs
+ * found conserva el orden de la petición; missing son los ids sin usuario
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchLookupResult {
+    private List<User> found;
+    private List<UUID> missing;
+}
@@ -0,0 +1,24 @@
+package com.ordersystem.user.application.port.in;
+
+import com.ordersystem.user.domain.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Entry of the user change feed
+ * changeSequence sigue el orden de confirmación de las escrituras; user es null si
+ * el usuario se ha borrado después del cambio
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChange {
+    private long changeSequence;
+    private UUID userId;
+    private User user;
+}
@@ -0,0 +1,22 @@
+package com.ordersystem.user.application.port.in;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Query for the user change feed
+ * Devuelve los cambios posteriores a (afterSequence, afterId) en orden (change_sequence, id)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangesQuery {
+    private long afterSequence;
+    private UUID afterId;
+    private int limit;
+}
@@ -0,0 +1,20 @@
+package com.ordersystem.user.application.port.in;
+
+import com.ordersystem.common.exception.BusinessException;
+
+/**
+ * Formatos de fichero soportados por la importación y exportación masivas
+ */
+public enum UserFileFormat {
+    NDJSON,
+    CSV;
+
+    public static UserFileFormat from(String value) {
+        for (UserFileFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BusinessException("INVALID_FILE_FORMAT", "Unsupported file format: " + value);
+    }
+}
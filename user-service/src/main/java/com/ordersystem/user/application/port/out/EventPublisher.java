@@ -1,10 +1,15 @@
 package com.ordersystem.user.application.port.out;
 
 import com.ordersystem.user.domain.event.UserCreatedEvent;
+import com.ordersystem.user.domain.event.UserStatusChangedEvent;
+
+import java.util.List;
 
 /**
  * Output Port - Event Publisher
  */
 public interface EventPublisher {
     void publishUserCreatedEvent(UserCreatedEvent event);
+    void publishUserCreatedEvents(List<UserCreatedEvent> events);
+    void publishUserStatusChangedEvents(List<UserStatusChangedEvent> events);
 }
@@ -0,0 +1,13 @@
+package com.ordersystem.user.application.port.out;
+
+import com.ordersystem.user.application.port.in.UserFileFormat;
+
+import java.io.OutputStream;
+
+/**
+ * Output Port - User Exporter
+ * Escribe todos los usuarios en el formato pedido sin materializarlos en memoria
+ */
+public interface UserExporter {
+    void exportAll(UserFileFormat format, OutputStream output);
+}
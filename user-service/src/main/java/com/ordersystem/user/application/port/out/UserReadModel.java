@@ -0,0 +1,18 @@
+package com.ordersystem.user.application.port.out;
+
+import com.ordersystem.user.domain.model.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Output Port - User Read Model
+ * Proyección de consulta (CQRS); solo debe usarse cuando isAvailable() es true
+ */
+public interface UserReadModel {
+    boolean isAvailable();
+    Optional<User> findById(UUID id);
+    Optional<User> findByEmail(String email);
+    List<User> findAll();
+}
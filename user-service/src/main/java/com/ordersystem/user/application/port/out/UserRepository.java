@@ -1,10 +1,16 @@
 package com.ordersystem.user.application.port.out;
 
+import com.ordersystem.user.application.port.in.BulkStatusChangeResult;
+import com.ordersystem.user.application.port.in.UserChange;
 import com.ordersystem.user.domain.model.User;
+import com.ordersystem.user.domain.model.UserStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Output Port - User Repository
@@ -12,8 +18,19 @@ import java.util.UUID;
 public interface UserRepository {
     User save(User user);
     Optional<User> findById(UUID id);
+    List<User> findByIds(Collection<UUID> ids);
     Optional<User> findByEmail(String email);
     List<User> findAll();
     void deleteById(UUID id);
     boolean existsByEmail(String email);
+    Set<String> findExistingEmails(Collection<String> emails);
+    void insertAll(List<User> users);
+    // Cambios de estado masivos: updated_at lo pone la base de datos al ejecutar cada UPDATE
+    List<UUID> updateStatusByIds(Collection<UUID> ids, UserStatus targetStatus);
+    // Como mucho limit usuarios por llamada
+    BulkStatusChangeResult updateStatusByEmailDomain(String emailDomain, UserStatus currentStatus,
+                                                     UserStatus targetStatus, int limit);
+    List<UserChange> findChangedSince(long afterSequence, UUID afterId, int limit);
+    // Recorre todos los usuarios sin materializar la lista
+    void scanAll(Consumer<User> consumer);
 }
@@ -1,25 +1,50 @@
 package com.ordersystem.user.application.service;
 
 import com.ordersystem.common.exception.BusinessException;
+import com.ordersystem.user.application.port.in.BulkImportResult;
+import com.ordersystem.user.application.port.in.BulkStatusChangeCommand;
+import com.ordersystem.user.application.port.in.BulkStatusChangeResult;
+import com.ordersystem.user.application.port.in.ChangeUserStatusUseCase;
 import com.ordersystem.user.application.port.in.CreateUserCommand;
 import com.ordersystem.user.application.port.in.CreateUserUseCase;
+import com.ordersystem.user.application.port.in.ExportUsersUseCase;
 import com.ordersystem.user.application.port.in.GetUserUseCase;
+import com.ordersystem.user.application.port.in.ImportUsersUseCase;
+import com.ordersystem.user.application.port.in.UserBatchLookupResult;
+import com.ordersystem.user.application.port.in.UserChange;
+import com.ordersystem.user.application.port.in.UserChangesQuery;
+import com.ordersystem.user.application.port.in.UserFileFormat;
 import com.ordersystem.user.application.port.out.EventPublisher;
+import com.ordersystem.user.application.port.out.UserExporter;
+import com.ordersystem.user.application.port.out.UserReadModel;
 import com.ordersystem.user.application.port.out.UserRepository;
 import com.ordersystem.user.domain.event.UserCreatedEvent;
+import com.ordersystem.user.domain.event.UserStatusChangedEvent;
 import com.ordersystem.user.domain.model.Address;
 import com.ordersystem.user.domain.model.Email;
 import com.ordersystem.user.domain.model.User;
 import com.ordersystem.user.domain.model.UserStatus;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * User Service - Application Layer
@@ -28,12 +53,24 @@ import java.util.UUID;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class UserService implements CreateUserUseCase, GetUserUseCase {
+public class UserService implements CreateUserUseCase, GetUserUseCase, ExportUsersUseCase, ImportUsersUseCase,
+        ChangeUserStatusUseCase {
+
+    // Etiquetas de 1-63 caracteres alfanuméricos o guiones (no en los extremos) y un TLD alfabético
+    private static final Pattern EMAIL_DOMAIN_PATTERN = Pattern.compile(
+            "^(?=.{1,253}$)([A-Za-z0-9]([A-Za-z0-9-]{0,61}[A-Za-z0-9])?\\.)+[A-Za-z]{2,63}$");
 
     private final UserRepository userRepository;
     private final EventPublisher eventPublisher;
+    private final UserReadModel userReadModel;
+    private final UserExporter userExporter;
+
+    // Tope de usuarios por llamada: acota la transacción, la respuesta y los eventos en memoria
+    @Value("${status-change.max-affected:1000}")
+    private int statusChangeMaxAffected;
 
     @Override
+    @Observed(name = "user.create")
     @Transactional
     public User createUser(CreateUserCommand command) {
         log.info("Creating user with email: {}", command.getEmail());
@@ -45,56 +82,231 @@ public class UserService implements CreateUserUseCase, GetUserUseCase {
         }
 
         // Crear el usuario
-        User user = User.builder()
-                .id(UUID.randomUUID())
-                .firstName(command.getFirstName())
-                .lastName(command.getLastName())
-                .email(new Email(command.getEmail()))
-                .phone(command.getPhone())
-                .address(Address.builder()
-                        .street(command.getStreet())
-                        .city(command.getCity())
-                        .state(command.getState())
-                        .zipCode(command.getZipCode())
-                        .country(command.getCountry())
-                        .build())
-                .status(UserStatus.ACTIVE)
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
+        User user = buildUser(command);
 
         // Guardar el usuario
         User savedUser = userRepository.save(user);
 
         // Publicar evento de dominio
-        UserCreatedEvent event = UserCreatedEvent.builder()
-                .userId(savedUser.getId())
-                .email(savedUser.getEmail().getValue())
-                .fullName(savedUser.getFullName())
-                .occurredAt(LocalDateTime.now())
-                .build();
-        
+        UserCreatedEvent event = toCreatedEvent(savedUser);
         eventPublisher.publishUserCreatedEvent(event);
 
         log.info("User created successfully with ID: {}", savedUser.getId());
         return savedUser;
     }
 
+    @Override
+    @Transactional
+    public BulkImportResult importUsers(List<CreateUserCommand> commands) {
+        Map<Integer, String> rejected = new HashMap<>();
+        Map<String, User> candidates = new LinkedHashMap<>();
+
+        // Validación de dominio (incluido Email) y duplicados dentro del propio lote
+        for (int i = 0; i < commands.size(); i++) {
+            CreateUserCommand command = commands.get(i);
+            try {
+                requireText(command.getFirstName(), "First name is required");
+                requireText(command.getLastName(), "Last name is required");
+                User user = buildUser(command);
+                if (candidates.putIfAbsent(user.getEmail().getValue(), user) != null) {
+                    rejected.put(i, "Duplicate email in import batch: " + user.getEmail().getValue());
+                }
+            } catch (IllegalArgumentException e) {
+                rejected.put(i, e.getMessage());
+            }
+        }
+
+        // Duplicados contra la base de datos con una consulta por lote, no una por fila
+        Set<String> existing = userRepository.findExistingEmails(candidates.keySet());
+        List<User> toInsert = new ArrayList<>(candidates.size());
+        for (int i = 0; i < commands.size(); i++) {
+            if (rejected.containsKey(i)) {
+                continue;
+            }
+            String email = Email.normalize(commands.get(i).getEmail());
+            if (existing.contains(email)) {
+                rejected.put(i, "User with email " + email + " already exists");
+            } else {
+                toInsert.add(candidates.get(email));
+            }
+        }
+
+        userRepository.insertAll(toInsert);
+        eventPublisher.publishUserCreatedEvents(toInsert.stream()
+                .map(this::toCreatedEvent)
+                .collect(Collectors.toList()));
+
+        log.debug("Imported {} users, rejected {}", toInsert.size(), rejected.size());
+        return BulkImportResult.builder()
+                .imported(toInsert.size())
+                .rejected(rejected)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public BulkStatusChangeResult changeStatus(BulkStatusChangeCommand command) {
+        boolean byIds = command.getUserIds() != null && !command.getUserIds().isEmpty();
+        boolean byDomain = command.getEmailDomain() != null && !command.getEmailDomain().isBlank();
+        if (byIds == byDomain) {
+            throw new BusinessException("INVALID_STATUS_CHANGE",
+                    "Provide either a list of user IDs or an email domain");
+        }
+        if (byIds && command.getCurrentStatus() != null) {
+            throw new BusinessException("INVALID_STATUS_CHANGE",
+                    "currentStatus can only be combined with an email domain");
+        }
+        if (byIds && command.getUserIds().size() > statusChangeMaxAffected) {
+            throw new BusinessException("TOO_MANY_USERS",
+                    "At most " + statusChangeMaxAffected + " user IDs per status change");
+        }
+        if (byDomain && !EMAIL_DOMAIN_PATTERN.matcher(command.getEmailDomain()).matches()) {
+            throw new BusinessException("INVALID_EMAIL_DOMAIN",
+                    "Invalid email domain: " + command.getEmailDomain());
+        }
+
+        // Por dominio se cambian como mucho statusChangeMaxAffected usuarios; los
+        // ya cambiados dejan de cumplir el criterio y la siguiente llamada sigue con el resto
+        BulkStatusChangeResult result = byIds
+                ? BulkStatusChangeResult.builder()
+                        .userIds(userRepository.updateStatusByIds(command.getUserIds(), command.getTargetStatus()))
+                        .build()
+                : userRepository.updateStatusByEmailDomain(command.getEmailDomain(), command.getCurrentStatus(),
+                        command.getTargetStatus(), statusChangeMaxAffected);
+
+        LocalDateTime now = LocalDateTime.now();
+        eventPublisher.publishUserStatusChangedEvents(result.getUserIds().stream()
+                .map(id -> UserStatusChangedEvent.builder()
+                        .userId(id)
+                        .status(command.getTargetStatus())
+                        .occurredAt(now)
+                        .build())
+                .collect(Collectors.toList()));
+
+        log.info("Changed status of {} users to {}{}", result.getUserIds().size(), command.getTargetStatus(),
+                result.isHasMore() ? ", more remaining" : "");
+        return result;
+    }
+
+    // Las lecturas no abren transacción aquí: si el read model responde no se
+    // toca la base de datos; el adaptador de persistencia abre la suya read-only
+
     @Override
     public Optional<User> getUserById(UUID id) {
         log.info("Fetching user by ID: {}", id);
+        if (userReadModel.isAvailable()) {
+            Optional<User> user = userReadModel.findById(id);
+            if (user.isPresent()) {
+                return user;
+            }
+        }
         return userRepository.findById(id);
     }
 
     @Override
     public Optional<User> getUserByEmail(String email) {
         log.info("Fetching user by email: {}", email);
-        return userRepository.findByEmail(email);
+        String canonical = Email.normalize(email);
+        if (userReadModel.isAvailable()) {
+            Optional<User> user = userReadModel.findByEmail(canonical);
+            if (user.isPresent()) {
+                return user;
+            }
+        }
+        return userRepository.findByEmail(canonical);
+    }
+
+    /**
+     * Lo que no está en el read model se resuelve con una sola consulta IN por lotes
+     */
+    @Override
+    public UserBatchLookupResult getUsersByIds(Collection<UUID> ids) {
+        Set<UUID> requested = new LinkedHashSet<>(ids);
+        log.info("Fetching {} users by ID", requested.size());
+
+        Map<UUID, User> found = new HashMap<>();
+        if (userReadModel.isAvailable()) {
+            for (UUID id : requested) {
+                userReadModel.findById(id).ifPresent(user -> found.put(id, user));
+            }
+        }
+        if (found.size() < requested.size()) {
+            List<UUID> pending = requested.stream()
+                    .filter(id -> !found.containsKey(id))
+                    .collect(Collectors.toList());
+            userRepository.findByIds(pending).forEach(user -> found.put(user.getId(), user));
+        }
+
+        List<User> users = new ArrayList<>(found.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : requested) {
+            User user = found.get(id);
+            if (user != null) {
+                users.add(user);
+            } else {
+                missing.add(id);
+            }
+        }
+        return UserBatchLookupResult.builder()
+                .found(users)
+                .missing(missing)
+                .build();
     }
 
     @Override
     public List<User> getAllUsers() {
         log.info("Fetching all users");
+        if (userReadModel.isAvailable()) {
+            return userReadModel.findAll();
+        }
         return userRepository.findAll();
     }
+
+    @Override
+    public List<UserChange> getUserChanges(UserChangesQuery query) {
+        log.debug("Fetching user changes after {} / {}", query.getAfterSequence(), query.getAfterId());
+        return userRepository.findChangedSince(query.getAfterSequence(), query.getAfterId(), query.getLimit());
+    }
+
+    @Override
+    public void exportUsers(UserFileFormat format, OutputStream output) {
+        log.info("Exporting all users as {}", format);
+        userExporter.exportAll(format, output);
+    }
+
+    private User buildUser(CreateUserCommand command) {
+        LocalDateTime now = LocalDateTime.now();
+        return User.builder()
+                .id(UUID.randomUUID())
+                .firstName(command.getFirstName())
+                .lastName(command.getLastName())
+                .email(new Email(command.getEmail()))
+                .phone(command.getPhone())
+                .address(Address.builder()
+                        .street(command.getStreet())
+                        .city(command.getCity())
+                        .state(command.getState())
+                        .zipCode(command.getZipCode())
+                        .country(command.getCountry())
+                        .build())
+                .status(UserStatus.ACTIVE)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private UserCreatedEvent toCreatedEvent(User user) {
+        return UserCreatedEvent.builder()
+                .userId(user.getId())
+                .email(user.getEmail().getValue())
+                .fullName(user.getFullName())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static void requireText(String value, String message) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(message);
+        }
+    }
 }
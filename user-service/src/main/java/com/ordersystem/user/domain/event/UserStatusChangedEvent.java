@@ -0,0 +1,23 @@
+package com.ordersystem.user.domain.event;
+
+import com.ordersystem.user.domain.model.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Domain Event - User Status Changed
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatusChangedEvent {
+    private UUID userId;
+    private UserStatus status;
+    private LocalDateTime occurredAt;
+}
@@ -3,6 +3,7 @@ package com.ordersystem.user.domain.model;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
+import java.util.Locale;
 import java.util.regex.Pattern;
 
 /**
@@ -21,10 +22,18 @@ public class Email {
         if (value == null || value.trim().isEmpty()) {
             throw new IllegalArgumentException("Email cannot be null or empty");
         }
-        if (!EMAIL_PATTERN.matcher(value).matches()) {
+        String normalized = normalize(value);
+        if (!EMAIL_PATTERN.matcher(normalized).matches()) {
             throw new IllegalArgumentException("Invalid email format: " + value);
         }
-        this.value = value.toLowerCase();
+        this.value = normalized;
+    }
+
+    /**
+     * Forma canónica con la que se guarda y se busca un email
+     */
+    public static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
     }
 
     @Override
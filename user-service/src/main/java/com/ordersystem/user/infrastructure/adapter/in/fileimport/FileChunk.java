@@ -0,0 +1,7 @@
+package com.ordersystem.user.infrastructure.adapter.in.fileimport;
+
+/**
+ * Tramo de fichero que empieza y termina en un límite de línea
+ */
+record FileChunk(int index, long offset, long length) {
+}
@@ -0,0 +1,93 @@
+package com.ordersystem.user.infrastructure.adapter.in.fileimport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Divide un fichero en tramos alineados a línea y recorre cada tramo mediante
+ * un MappedByteBuffer, sin copiar el fichero al heap
+ */
+final class MappedFileChunker {
+
+    private static final byte NEW_LINE = '\n';
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+
+    private MappedFileChunker() {
+    }
+
+    /**
+     * Los límites son deterministas para un mismo fichero y tamaño de tramo,
+     * lo que permite reanudar una importación por índice de tramo
+     */
+    static List<FileChunk> split(FileChannel channel, long chunkSize) throws IOException {
+        long size = channel.size();
+        List<FileChunk> chunks = new ArrayList<>();
+        long start = 0;
+        int index = 0;
+        while (start < size) {
+            long end = Math.min(size, start + chunkSize);
+            if (end < size) {
+                end = nextLineStart(channel, end);
+            }
+            chunks.add(new FileChunk(index++, start, end - start));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Invoca al consumidor con cada línea no vacía del tramo y su posición dentro de él
+     */
+    static void forEachLine(FileChannel channel, FileChunk chunk, ObjIntConsumer<String> consumer) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.offset(), chunk.length());
+        int limit = buffer.limit();
+        int lineStart = 0;
+        int lineNumber = 0;
+        for (int i = 0; i < limit; i++) {
+            if (buffer.get(i) == NEW_LINE) {
+                emit(buffer, lineStart, i, lineNumber++, consumer);
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < limit) {
+            emit(buffer, lineStart, limit, lineNumber, consumer);
+        }
+    }
+
+    private static void emit(MappedByteBuffer buffer, int start, int end, int lineNumber,
+                             ObjIntConsumer<String> consumer) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        if (end == start) {
+            return;
+        }
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        consumer.accept(new String(bytes, StandardCharsets.UTF_8), lineNumber);
+    }
+
+    private static long nextLineStart(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long current = position;
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, current);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == NEW_LINE) {
+                    return current + i + 1;
+                }
+            }
+            current += read;
+        }
+    }
+}
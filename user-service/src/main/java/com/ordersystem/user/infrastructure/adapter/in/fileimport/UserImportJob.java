@@ -0,0 +1,57 @@
+package com.ordersystem.user.infrastructure.adapter.in.fileimport;
+
+import com.ordersystem.user.application.port.in.UserFileFormat;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado y progreso de una importación masiva
+ */
+@Getter
+public class UserImportJob {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    private final Path file;
+    private final UserFileFormat format;
+    private final Path rejectedFile;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private final AtomicInteger totalChunks = new AtomicInteger();
+    private final AtomicInteger completedChunks = new AtomicInteger();
+    private final AtomicInteger resumedChunks = new AtomicInteger();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile State state = State.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    UserImportJob(String id, Path file, UserFileFormat format, Path rejectedFile) {
+        this.id = id;
+        this.file = file;
+        this.format = format;
+        this.rejectedFile = rejectedFile;
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        state = State.COMPLETED;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        finishedAt = LocalDateTime.now();
+        state = State.FAILED;
+    }
+}
@@ -0,0 +1,351 @@
+package com.ordersystem.user.infrastructure.adapter.in.fileimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.common.exception.BusinessException;
+import com.ordersystem.common.exception.ConflictException;
+import com.ordersystem.user.application.port.in.BulkImportResult;
+import com.ordersystem.user.application.port.in.CreateUserCommand;
+import com.ordersystem.user.application.port.in.ImportUsersUseCase;
+import com.ordersystem.user.application.port.in.UserFileFormat;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pipeline de importación masiva - Input Adapter
+ * Trocea el fichero en tramos alineados a línea, los procesa en paralelo
+ * (parseo, validación e inserción por lotes) y registra cada lote confirmado y
+ * cada tramo terminado en un fichero de progreso para poder reanudar sin repetir
+ * filas ya insertadas. Las filas rechazadas se escriben en un fichero NDJSON junto
+ * al original. Los trabajos terminados se olvidan pasado import.job-retention.
+ */
+@Slf4j
+@Component
+public class UserImportJobRunner {
+
+    private static final String PROGRESS_SUFFIX = ".progress";
+    private static final String REJECTED_SUFFIX = ".rejected.ndjson";
+    private static final String CHUNK_SIZE_HEADER = "chunk-size=";
+    private static final char COMMITTED_LINE_SEPARATOR = ':';
+
+    private final ImportUsersUseCase importUsersUseCase;
+    private final ObjectMapper objectMapper;
+    private final Path importDirectory;
+    private final long chunkSize;
+    private final int batchSize;
+    private final Duration jobRetention;
+
+    private final ExecutorService workers;
+    private final ExecutorService coordinators = Executors.newCachedThreadPool(namedThreads("user-import-job"));
+    private final Map<String, UserImportJob> jobs = new ConcurrentHashMap<>();
+    private final Set<Path> runningFiles = ConcurrentHashMap.newKeySet();
+
+    public UserImportJobRunner(ImportUsersUseCase importUsersUseCase,
+                               ObjectMapper objectMapper,
+                               @Value("${import.directory}") String importDirectory,
+                               @Value("${import.chunk-size:8MB}") DataSize chunkSize,
+                               @Value("${import.batch-size:1000}") int batchSize,
+                               @Value("${import.parallelism:0}") int parallelism,
+                               @Value("${import.job-retention:24h}") Duration jobRetention) {
+        this.importUsersUseCase = importUsersUseCase;
+        this.objectMapper = objectMapper;
+        this.importDirectory = Paths.get(importDirectory).toAbsolutePath().normalize();
+        this.chunkSize = chunkSize.toBytes();
+        this.batchSize = batchSize;
+        this.jobRetention = jobRetention;
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.workers = Executors.newFixedThreadPool(threads, namedThreads("user-import-worker"));
+    }
+
+    public UserImportJob start(String fileName, UserFileFormat format) {
+        pruneFinishedJobs();
+        Path file = importDirectory.resolve(fileName).normalize();
+        if (!file.startsWith(importDirectory) || !Files.isRegularFile(file)) {
+            throw new BusinessException("INVALID_IMPORT_FILE", "Import file not found: " + fileName);
+        }
+        if (!runningFiles.add(file)) {
+            throw new ConflictException("IMPORT_ALREADY_RUNNING", "An import is already running for " + fileName);
+        }
+
+        UserImportJob job = new UserImportJob(UUID.randomUUID().toString(), file, format,
+                Paths.get(file + REJECTED_SUFFIX));
+        jobs.put(job.getId(), job);
+        coordinators.execute(() -> {
+            try {
+                run(job);
+                job.complete();
+                log.info("Import {} completed: {} imported, {} rejected",
+                        job.getId(), job.getImported().get(), job.getRejected().get());
+            } catch (Exception e) {
+                log.error("Import {} failed", job.getId(), e);
+                job.fail(e.getMessage());
+            } finally {
+                runningFiles.remove(file);
+            }
+        });
+        return job;
+    }
+
+    public Optional<UserImportJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinators.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void run(UserImportJob job) throws IOException {
+        Path progressFile = Paths.get(job.getFile() + PROGRESS_SUFFIX);
+        ImportProgress previous = readProgress(progressFile);
+        boolean newProgressFile = !Files.exists(progressFile);
+
+        try (FileChannel channel = FileChannel.open(job.getFile(), StandardOpenOption.READ);
+             BufferedWriter progress = Files.newBufferedWriter(progressFile, StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+             BufferedWriter rejected = Files.newBufferedWriter(job.getRejectedFile(), StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+
+            if (newProgressFile) {
+                progress.write(CHUNK_SIZE_HEADER + chunkSize);
+                progress.newLine();
+                progress.flush();
+            }
+
+            UserRecordParser parser = new UserRecordParser(job.getFormat(), objectMapper, readHeader(job));
+            List<FileChunk> chunks = MappedFileChunker.split(channel, chunkSize);
+            job.getTotalChunks().set(chunks.size());
+
+            List<CompletableFuture<Void>> pending = new ArrayList<>();
+            for (FileChunk chunk : chunks) {
+                if (previous.completedChunks().contains(chunk.index())) {
+                    job.getResumedChunks().incrementAndGet();
+                    job.getCompletedChunks().incrementAndGet();
+                    continue;
+                }
+                int committedLine = previous.committedLines().getOrDefault(chunk.index(), -1);
+                pending.add(CompletableFuture.runAsync(() -> {
+                    processChunk(job, channel, chunk, parser, rejected, progress, committedLine);
+                    markCompleted(progress, chunk);
+                    job.getCompletedChunks().incrementAndGet();
+                }, workers));
+            }
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        }
+    }
+
+    /**
+     * Las líneas hasta committedLine (incluida) ya se confirmaron en una ejecución
+     * anterior y se saltan; los rechazos de parseo se escriben con su lote para que
+     * tampoco se repitan al reanudar
+     */
+    private void processChunk(UserImportJob job, FileChannel channel, FileChunk chunk, UserRecordParser parser,
+                              BufferedWriter rejected, BufferedWriter progress, int committedLine) {
+        List<CreateUserCommand> batch = new ArrayList<>(batchSize);
+        List<String> batchLines = new ArrayList<>(batchSize);
+        List<Integer> batchLineNumbers = new ArrayList<>(batchSize);
+        List<Rejection> parseRejections = new ArrayList<>();
+        boolean skipHeader = chunk.index() == 0 && job.getFormat() == UserFileFormat.CSV;
+
+        try {
+            MappedFileChunker.forEachLine(channel, chunk, (line, lineNumber) -> {
+                if ((skipHeader && lineNumber == 0) || lineNumber <= committedLine) {
+                    return;
+                }
+                job.getRowsRead().incrementAndGet();
+                try {
+                    batch.add(parser.parse(line));
+                    batchLines.add(line);
+                    batchLineNumbers.add(lineNumber);
+                } catch (IllegalArgumentException e) {
+                    parseRejections.add(new Rejection(lineNumber, line, e.getMessage()));
+                }
+                if (batch.size() == batchSize) {
+                    flush(job, rejected, chunk, batch, batchLines, batchLineNumbers, parseRejections);
+                    markCommitted(progress, chunk, lineNumber);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        flush(job, rejected, chunk, batch, batchLines, batchLineNumbers, parseRejections);
+    }
+
+    private void flush(UserImportJob job, BufferedWriter rejected, FileChunk chunk, List<CreateUserCommand> batch,
+                       List<String> lines, List<Integer> lineNumbers, List<Rejection> parseRejections) {
+        parseRejections.forEach(rejection ->
+                reject(job, rejected, chunk, rejection.lineNumber(), rejection.line(), rejection.reason()));
+        parseRejections.clear();
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Integer, String> rejections;
+        try {
+            BulkImportResult result = importUsersUseCase.importUsers(batch);
+            job.getImported().addAndGet(result.getImported());
+            rejections = result.getRejected();
+        } catch (RuntimeException e) {
+            // Otro tramo pudo insertar el mismo email entre la comprobación y el INSERT:
+            // se reintenta fila a fila para aislar solo las filas en conflicto
+            log.warn("Batch insert failed in chunk {}, retrying row by row: {}", chunk.index(), e.getMessage());
+            rejections = new LinkedHashMap<>();
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    BulkImportResult result = importUsersUseCase.importUsers(List.of(batch.get(i)));
+                    job.getImported().addAndGet(result.getImported());
+                    if (!result.getRejected().isEmpty()) {
+                        rejections.put(i, result.getRejected().get(0));
+                    }
+                } catch (RuntimeException rowError) {
+                    rejections.put(i, rowError.getMessage());
+                }
+            }
+        }
+        rejections.forEach((index, reason) ->
+                reject(job, rejected, chunk, lineNumbers.get(index), lines.get(index), reason));
+
+        batch.clear();
+        lines.clear();
+        lineNumbers.clear();
+    }
+
+    private void reject(UserImportJob job, BufferedWriter rejected, FileChunk chunk,
+                        int lineNumber, String line, String reason) {
+        job.getRejected().incrementAndGet();
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("chunk", chunk.index());
+        record.put("line", lineNumber);
+        record.put("reason", reason);
+        record.put("record", line);
+        try {
+            String json = objectMapper.writeValueAsString(record);
+            synchronized (rejected) {
+                rejected.write(json);
+                rejected.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void markCompleted(BufferedWriter progress, FileChunk chunk) {
+        appendProgress(progress, Integer.toString(chunk.index()));
+    }
+
+    /**
+     * El lote que termina en lineNumber está confirmado. Solo queda una ventana
+     * entre el commit y esta escritura en la que una caída haría repetir el lote.
+     */
+    private void markCommitted(BufferedWriter progress, FileChunk chunk, int lineNumber) {
+        appendProgress(progress, chunk.index() + String.valueOf(COMMITTED_LINE_SEPARATOR) + lineNumber);
+    }
+
+    private void appendProgress(BufferedWriter progress, String entry) {
+        try {
+            synchronized (progress) {
+                progress.write(entry);
+                progress.newLine();
+                progress.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Progreso de una ejecución anterior: una línea "tramo" por tramo terminado y
+     * "tramo:línea" por lote confirmado. Si el tamaño de tramo ha cambiado los
+     * índices ya no son válidos y se empieza de cero.
+     */
+    private ImportProgress readProgress(Path progressFile) throws IOException {
+        if (!Files.exists(progressFile)) {
+            return ImportProgress.EMPTY;
+        }
+        List<String> lines = Files.readAllLines(progressFile, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(CHUNK_SIZE_HEADER + chunkSize)) {
+            Files.delete(progressFile);
+            return ImportProgress.EMPTY;
+        }
+        Set<Integer> completedChunks = new HashSet<>();
+        Map<Integer, Integer> committedLines = new HashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            int separator = line.indexOf(COMMITTED_LINE_SEPARATOR);
+            if (separator < 0) {
+                completedChunks.add(Integer.valueOf(line));
+            } else {
+                committedLines.merge(Integer.valueOf(line.substring(0, separator)),
+                        Integer.valueOf(line.substring(separator + 1)), Math::max);
+            }
+        }
+        return new ImportProgress(completedChunks, committedLines);
+    }
+
+    private String readHeader(UserImportJob job) throws IOException {
+        if (job.getFormat() != UserFileFormat.CSV) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(job.getFile(), StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new BusinessException("INVALID_IMPORT_FILE", "CSV file is empty: " + job.getFile());
+            }
+            return header;
+        }
+    }
+
+    private record ImportProgress(Set<Integer> completedChunks, Map<Integer, Integer> committedLines) {
+
+        private static final ImportProgress EMPTY = new ImportProgress(Set.of(), Map.of());
+    }
+
+    private record Rejection(int lineNumber, String line, String reason) {
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.ordersystem.user.infrastructure.adapter.in.fileimport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.user.application.port.in.CreateUserCommand;
+import com.ordersystem.user.application.port.in.UserFileFormat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Convierte una línea CSV o NDJSON en un CreateUserCommand.
+ * CSV: la primera línea del fichero es la cabecera con los nombres de campo de
+ * CreateUserCommand; los campos entre comillas no pueden contener saltos de línea.
+ */
+class UserRecordParser {
+
+    private final UserFileFormat format;
+    private final ObjectMapper objectMapper;
+    private final List<String> csvHeader;
+
+    UserRecordParser(UserFileFormat format, ObjectMapper objectMapper, String headerLine) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.csvHeader = format == UserFileFormat.CSV ? splitCsv(headerLine) : List.of();
+    }
+
+    CreateUserCommand parse(String line) {
+        return format == UserFileFormat.CSV ? parseCsv(line) : parseNdjson(line);
+    }
+
+    private CreateUserCommand parseNdjson(String line) {
+        try {
+            return objectMapper.readValue(line, CreateUserCommand.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private CreateUserCommand parseCsv(String line) {
+        List<String> values = splitCsv(line);
+        if (values.size() != csvHeader.size()) {
+            throw new IllegalArgumentException("Expected " + csvHeader.size() + " fields but found " + values.size());
+        }
+        CreateUserCommand command = new CreateUserCommand();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).isEmpty() ? null : values.get(i).trim();
+            switch (csvHeader.get(i).trim()) {
+                case "firstName" -> command.setFirstName(value);
+                case "lastName" -> command.setLastName(value);
+                case "email" -> command.setEmail(value);
+                case "phone" -> command.setPhone(value);
+                case "street" -> command.setStreet(value);
+                case "city" -> command.setCity(value);
+                case "state" -> command.setState(value);
+                case "zipCode" -> command.setZipCode(value);
+                case "country" -> command.setCountry(value);
+                default -> {
+                    // columnas desconocidas se ignoran
+                }
+            }
+        }
+        return command;
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
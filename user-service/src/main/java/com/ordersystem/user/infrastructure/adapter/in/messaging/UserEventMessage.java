@@ -0,0 +1,23 @@
+package com.ordersystem.user.infrastructure.adapter.in.messaging;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Campos comunes de los eventos de user.exchange que necesita la proyección
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UserEventMessage {
+    private UUID userId;
+    private LocalDateTime occurredAt;
+}
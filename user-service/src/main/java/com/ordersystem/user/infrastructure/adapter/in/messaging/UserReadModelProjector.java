@@ -0,0 +1,82 @@
+package com.ordersystem.user.infrastructure.adapter.in.messaging;
+
+import com.ordersystem.user.application.port.out.UserRepository;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.routing.DataSourceRoutingContext;
+import com.ordersystem.user.infrastructure.adapter.out.readmodel.InMemoryUserReadModel;
+import com.ordersystem.user.infrastructure.adapter.out.readmodel.UserReadModelBootstrap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerStartedEvent;
+import org.springframework.amqp.rabbit.listener.ListenerContainerConsumerFailedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * User Read Model Projector - Input Adapter
+ * Aplica lotes de eventos de usuario al read model. Cada lote recarga el
+ * estado actual de los usuarios afectados con UserRepository.findByIds contra el
+ * primario (los eventos se publican tras el commit; la réplica puede ir por detrás)
+ * o, con sharding, contra el shard de cada usuario.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "readmodel.enabled", havingValue = "true")
+public class UserReadModelProjector {
+
+    private final InMemoryUserReadModel readModel;
+    private final UserReadModelBootstrap bootstrap;
+    private final UserRepository userRepository;
+
+    private volatile boolean consumerFailed;
+
+    public void onEvents(List<UserEventMessage> events) {
+        // Los heartbeats (sin userId) solo cuentan para medir la antigüedad
+        Set<UUID> userIds = new LinkedHashSet<>();
+        int userEvents = 0;
+        LocalDateTime latestOccurredAt = null;
+        for (UserEventMessage event : events) {
+            if (event.getUserId() != null) {
+                userIds.add(event.getUserId());
+                userEvents++;
+            }
+            if (latestOccurredAt == null
+                    || (event.getOccurredAt() != null && event.getOccurredAt().isAfter(latestOccurredAt))) {
+                latestOccurredAt = event.getOccurredAt();
+            }
+        }
+
+        if (!userIds.isEmpty()) {
+            DataSourceRoutingContext.runOnPrimary(() -> userRepository.findByIds(userIds))
+                    .forEach(readModel::upsert);
+        }
+
+        readModel.eventsApplied(userEvents, latestOccurredAt);
+        log.debug("Applied {} user events to the read model", userEvents);
+    }
+
+    /**
+     * La cola del read model es exclusiva y auto-delete: si el consumidor cae se
+     * pierden eventos, así que hay que reconstruir al volver a conectar.
+     */
+    @EventListener
+    public void onConsumerFailed(ListenerContainerConsumerFailedEvent event) {
+        consumerFailed = true;
+        readModel.markStale();
+    }
+
+    @EventListener
+    public void onConsumerStarted(AsyncConsumerStartedEvent event) {
+        if (consumerFailed) {
+            consumerFailed = false;
+            bootstrap.rebuild();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ordersystem.user.infrastructure.adapter.in.rest;
+
+import com.ordersystem.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Cursor opaco del change feed: posición (changeSequence, id) codificada en Base64 URL-safe
+ */
+record ChangeCursor(long sequence, UUID id) {
+
+    static final ChangeCursor START = new ChangeCursor(-1, new UUID(0L, 0L));
+
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+        String raw = sequence + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ChangeCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            String position = raw.substring(0, separator);
+            UUID id = UUID.fromString(raw.substring(separator + 1));
+            if (position.contains("T")) {
+                // Cursor (updatedAt, id) de la versión anterior: se vuelve a empezar
+                LocalDateTime.parse(position);
+                return START;
+            }
+            return new ChangeCursor(Long.parseLong(position), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessException("INVALID_CURSOR", "Invalid change feed cursor: " + cursor);
+        }
+    }
+}
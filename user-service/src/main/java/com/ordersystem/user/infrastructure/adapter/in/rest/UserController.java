@@ -1,25 +1,48 @@
 package com.ordersystem.user.infrastructure.adapter.in.rest;
 
 import com.ordersystem.common.dto.ApiResponse;
+import com.ordersystem.common.exception.BusinessException;
 import com.ordersystem.common.exception.ResourceNotFoundException;
+import com.ordersystem.user.application.port.in.BulkStatusChangeCommand;
+import com.ordersystem.user.application.port.in.BulkStatusChangeResult;
+import com.ordersystem.user.application.port.in.ChangeUserStatusUseCase;
 import com.ordersystem.user.application.port.in.CreateUserCommand;
 import com.ordersystem.user.application.port.in.CreateUserUseCase;
+import com.ordersystem.user.application.port.in.ExportUsersUseCase;
 import com.ordersystem.user.application.port.in.GetUserUseCase;
+import com.ordersystem.user.application.port.in.UserBatchLookupResult;
+import com.ordersystem.user.application.port.in.UserChange;
+import com.ordersystem.user.application.port.in.UserChangesQuery;
+import com.ordersystem.user.application.port.in.UserFileFormat;
 import com.ordersystem.user.domain.model.User;
+import com.ordersystem.user.domain.model.UserStatus;
+import com.ordersystem.user.infrastructure.adapter.in.rest.dto.BulkStatusChangeRequest;
+import com.ordersystem.user.infrastructure.adapter.in.rest.dto.BulkStatusChangeResponse;
+import com.ordersystem.user.infrastructure.adapter.in.rest.dto.UserBatchLookupRequest;
+import com.ordersystem.user.infrastructure.adapter.in.rest.dto.UserBatchLookupResponse;
+import com.ordersystem.user.infrastructure.adapter.in.rest.dto.UserChangesResponse;
 import com.ordersystem.user.infrastructure.adapter.in.rest.dto.UserRequest;
 import com.ordersystem.user.infrastructure.adapter.in.rest.dto.UserResponse;
+import com.ordersystem.user.infrastructure.adapter.in.rest.idempotency.IdempotencyStore;
 import com.ordersystem.user.infrastructure.adapter.in.rest.mapper.UserRestMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST Controller - Input Adapter
@@ -30,13 +53,30 @@ import java.util.stream.Collectors;
 @Tag(name = "User Management", description = "APIs for managing users")
 public class UserController {
 
+    private static final int MAX_CHANGES_PAGE_SIZE = 500;
+    // Por GET los ids van en la URL: 80 UUID (hasta 41 caracteres cada uno con ids=...&)
+    // caben en los 4 KB de línea inicial del gateway; listas más largas van por POST
+    private static final int MAX_GET_BATCH_LOOKUP_IDS = 80;
+
     private final CreateUserUseCase createUserUseCase;
     private final GetUserUseCase getUserUseCase;
+    private final ExportUsersUseCase exportUsersUseCase;
+    private final ChangeUserStatusUseCase changeUserStatusUseCase;
     private final UserRestMapper mapper;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
     @Operation(summary = "Create a new user")
-    public ResponseEntity<ApiResponse<UserResponse>> createUser(@Valid @RequestBody UserRequest request) {
+    public ResponseEntity<ApiResponse<UserResponse>> createUser(
+            @Valid @RequestBody UserRequest request,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return doCreateUser(request);
+        }
+        return idempotencyStore.execute(idempotencyKey, request, () -> doCreateUser(request));
+    }
+
+    private ResponseEntity<ApiResponse<UserResponse>> doCreateUser(UserRequest request) {
         CreateUserCommand command = mapper.toCommand(request);
         User user = createUserUseCase.createUser(command);
         UserResponse response = mapper.toResponse(user);
@@ -46,16 +86,72 @@ public class UserController {
                 .body(ApiResponse.success("User created successfully", response));
     }
 
+    @PostMapping("/status-changes")
+    @Operation(summary = "Activate, deactivate or suspend users in bulk by IDs or email domain; "
+            + "repeat while hasMore is true")
+    public ResponseEntity<ApiResponse<BulkStatusChangeResponse>> changeStatus(
+            @Valid @RequestBody BulkStatusChangeRequest request) {
+        UserStatus targetStatus = parseStatus(request.getStatus());
+        BulkStatusChangeResult result = changeUserStatusUseCase.changeStatus(BulkStatusChangeCommand.builder()
+                .targetStatus(targetStatus)
+                .userIds(request.getUserIds())
+                .emailDomain(request.getEmailDomain())
+                .currentStatus(request.getCurrentStatus() != null ? parseStatus(request.getCurrentStatus()) : null)
+                .build());
+
+        BulkStatusChangeResponse response = BulkStatusChangeResponse.builder()
+                .status(targetStatus.name())
+                .affected(result.getUserIds().size())
+                .userIds(result.getUserIds())
+                .hasMore(result.isHasMore())
+                .build();
+        return ResponseEntity.ok(ApiResponse.success("User status updated", response));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID")
-    public ResponseEntity<ApiResponse<UserResponse>> getUserById(@PathVariable UUID id) {
+    public ResponseEntity<ApiResponse<UserResponse>> getUserById(@PathVariable UUID id, WebRequest webRequest) {
         User user = getUserUseCase.getUserById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", id.toString()));
         
+        if (webRequest.checkNotModified(eTagOf(user))) {
+            // 304 ya preparado por Spring: no se mapea ni se serializa el cuerpo
+            return null;
+        }
         UserResponse response = mapper.toResponse(user);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/batch-lookup")
+    @Operation(summary = "Get up to " + MAX_GET_BATCH_LOOKUP_IDS
+            + " users by ID in one request (ids=...,...); use POST for longer lists")
+    public ResponseEntity<ApiResponse<UserBatchLookupResponse>> batchLookup(@RequestParam List<UUID> ids) {
+        if (ids.size() > MAX_GET_BATCH_LOOKUP_IDS) {
+            throw new BusinessException("TOO_MANY_IDS", "At most " + MAX_GET_BATCH_LOOKUP_IDS
+                    + " user IDs per GET request; send longer lists to POST /users/batch-lookup");
+        }
+        return doBatchLookup(ids);
+    }
+
+    /**
+     * Variante POST para listas que no caben en la URL; no modifica nada
+     */
+    @PostMapping("/batch-lookup")
+    @Operation(summary = "Get up to 2000 users by ID in one request")
+    public ResponseEntity<ApiResponse<UserBatchLookupResponse>> batchLookup(
+            @Valid @RequestBody UserBatchLookupRequest request) {
+        return doBatchLookup(request.getIds());
+    }
+
+    private ResponseEntity<ApiResponse<UserBatchLookupResponse>> doBatchLookup(List<UUID> ids) {
+        UserBatchLookupResult result = getUserUseCase.getUsersByIds(ids);
+        UserBatchLookupResponse response = UserBatchLookupResponse.builder()
+                .users(result.getFound().stream().map(mapper::toResponse).collect(Collectors.toList()))
+                .missing(result.getMissing())
+                .build();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping
     @Operation(summary = "Get all users")
     public ResponseEntity<ApiResponse<List<UserResponse>>> getAllUsers() {
@@ -67,13 +163,96 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(users));
     }
 
+    @GetMapping("/changes")
+    @Operation(summary = "Get users created or updated after a cursor")
+    public ResponseEntity<ApiResponse<UserChangesResponse>> getUserChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHANGES_PAGE_SIZE));
+        ChangeCursor cursor = ChangeCursor.decode(since);
+
+        // Se pide una fila de más para saber si hay otra página
+        List<UserChange> changes = getUserUseCase.getUserChanges(UserChangesQuery.builder()
+                .afterSequence(cursor.sequence())
+                .afterId(cursor.id())
+                .limit(pageSize + 1)
+                .build());
+
+        boolean hasMore = changes.size() > pageSize;
+        List<UserChange> page = hasMore ? changes.subList(0, pageSize) : changes;
+        // El cursor avanza también sobre los usuarios borrados, que no se devuelven
+        UserChange last = page.isEmpty() ? null : page.get(page.size() - 1);
+        ChangeCursor next = last == null ? cursor : new ChangeCursor(last.getChangeSequence(), last.getUserId());
+
+        UserChangesResponse response = UserChangesResponse.builder()
+                .users(page.stream()
+                        .map(UserChange::getUser)
+                        .filter(Objects::nonNull)
+                        .map(mapper::toResponse)
+                        .collect(Collectors.toList()))
+                .nextCursor(next.encode())
+                .hasMore(hasMore)
+                .build();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream all users as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        UserFileFormat exportFormat = UserFileFormat.from(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutput = new GZIPOutputStream(output, 64 * 1024);
+                exportUsersUseCase.exportUsers(exportFormat, gzipOutput);
+                gzipOutput.finish();
+            } else {
+                exportUsersUseCase.exportUsers(exportFormat, output);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat == UserFileFormat.CSV
+                        ? new MediaType("text", "csv")
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=users." + exportFormat.name().toLowerCase());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     @GetMapping("/email/{email}")
     @Operation(summary = "Get user by email")
-    public ResponseEntity<ApiResponse<UserResponse>> getUserByEmail(@PathVariable String email) {
+    public ResponseEntity<ApiResponse<UserResponse>> getUserByEmail(@PathVariable String email, WebRequest webRequest) {
         User user = getUserUseCase.getUserByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User", email));
         
+        if (webRequest.checkNotModified(eTagOf(user))) {
+            return null;
+        }
         UserResponse response = mapper.toResponse(user);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    private static UserStatus parseStatus(String status) {
+        try {
+            return UserStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("INVALID_STATUS", "Unknown user status: " + status);
+        }
+    }
+
+    /**
+     * ETag fuerte: id + updatedAt identifican de forma única la versión del usuario
+     */
+    private static String eTagOf(User user) {
+        long version = user.getUpdatedAt().toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L
+                + user.getUpdatedAt().getNano();
+        return "\"" + user.getId() + "-" + Long.toHexString(version) + "\"";
+    }
 }
@@ -0,0 +1,64 @@
+package com.ordersystem.user.infrastructure.adapter.in.rest;
+
+import com.ordersystem.common.dto.ApiResponse;
+import com.ordersystem.common.exception.ResourceNotFoundException;
+import com.ordersystem.user.application.port.in.UserFileFormat;
+import com.ordersystem.user.infrastructure.adapter.in.fileimport.UserImportJob;
+import com.ordersystem.user.infrastructure.adapter.in.fileimport.UserImportJobRunner;
+import com.ordersystem.user.infrastructure.adapter.in.rest.dto.UserImportJobResponse;
+import com.ordersystem.user.infrastructure.adapter.in.rest.dto.UserImportRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller - Input Adapter for bulk user imports
+ */
+@RestController
+@RequestMapping("/users/imports")
+@RequiredArgsConstructor
+@Tag(name = "User Import", description = "APIs for bulk importing users from files")
+public class UserImportController {
+
+    private final UserImportJobRunner importJobRunner;
+
+    @PostMapping
+    @Operation(summary = "Start (or resume) a bulk import of a CSV/NDJSON file from the import directory")
+    public ResponseEntity<ApiResponse<UserImportJobResponse>> startImport(@Valid @RequestBody UserImportRequest request) {
+        UserImportJob job = importJobRunner.start(request.getFileName(), UserFileFormat.from(request.getFormat()));
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Import started", toResponse(job)));
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get bulk import progress")
+    public ResponseEntity<ApiResponse<UserImportJobResponse>> getImport(@PathVariable String jobId) {
+        UserImportJob job = importJobRunner.getJob(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job", jobId));
+        return ResponseEntity.ok(ApiResponse.success(toResponse(job)));
+    }
+
+    private UserImportJobResponse toResponse(UserImportJob job) {
+        return UserImportJobResponse.builder()
+                .jobId(job.getId())
+                .file(job.getFile().getFileName().toString())
+                .format(job.getFormat().name())
+                .state(job.getState().name())
+                .totalChunks(job.getTotalChunks().get())
+                .completedChunks(job.getCompletedChunks().get())
+                .resumedChunks(job.getResumedChunks().get())
+                .rowsRead(job.getRowsRead().get())
+                .imported(job.getImported().get())
+                .rejected(job.getRejected().get())
+                .rejectedFile(job.getRejectedFile().getFileName().toString())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .error(job.getError())
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.ordersystem.user.infrastructure.adapter.in.rest.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive Concurrency Limiter
+ * Límite de peticiones concurrentes ajustado por gradiente de latencia: compara
+ * la latencia reciente con la de largo plazo y reduce el límite cuando las
+ * peticiones empiezan a encolarse (p.ej. esperando conexiones de Hikari).
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_RTT_WEIGHT = 1.0 / 10;
+    private static final double LONG_RTT_WEIGHT = 1.0 / 600;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(String type, int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, double smoothing, MeterRegistry meterRegistry) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        this.rejected = Counter.builder("user.concurrency.rejected")
+                .tag("type", type)
+                .description("Requests rejected with 503 because the concurrency limit was reached")
+                .register(meterRegistry);
+        Gauge.builder("user.concurrency.limit", this, limiter -> limiter.limit)
+                .tag("type", type)
+                .register(meterRegistry);
+        Gauge.builder("user.concurrency.inflight", inFlight, AtomicInteger::get)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return el permiso, o null si se ha alcanzado el límite
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(System.nanoTime(), current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        if (dropped) {
+            // Errores 5xx o excepciones (timeouts de pool incluidos): se recorta el límite
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            return;
+        }
+
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+        } else {
+            shortRttNanos += (rttNanos - shortRttNanos) * SHORT_RTT_WEIGHT;
+            longRttNanos += (rttNanos - longRttNanos) * LONG_RTT_WEIGHT;
+        }
+        // Tras una sobrecarga la media larga queda inflada; se deja converger más rápido
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+
+        // Con poca carga el RTT no dice nada sobre el límite: no se sube sin necesidad
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double queueAllowance = Math.sqrt(limit);
+        double target = limit * gradient + queueAllowance;
+        double smoothed = limit * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void release(boolean dropped) {
+            inFlight.decrementAndGet();
+            onSample(System.nanoTime() - startNanos, inFlightAtStart, dropped);
+        }
+
+        /**
+         * Para peticiones asíncronas cuya duración no representa la latencia del servicio
+         */
+        public void releaseWithoutSample() {
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.ordersystem.user.infrastructure.adapter.in.rest.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.common.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Concurrency Limit Filter
+ * Rechaza con 503 en cuanto se supera el límite adaptativo en lugar de dejar
+ * los hilos de Tomcat esperando una conexión hasta el connection-timeout.
+ * Lecturas y escrituras tienen límites separados; los POST de solo lectura
+ * (read-paths) cuentan como lecturas.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final List<String> excludedPaths;
+    private final List<String> readPaths;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter readLimiter,
+                                  AdaptiveConcurrencyLimiter writeLimiter,
+                                  List<String> excludedPaths,
+                                  List<String> readPaths,
+                                  ObjectMapper objectMapper) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.excludedPaths = excludedPaths;
+        this.readPaths = readPaths;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = isRead(request) ? readLimiter : writeLimiter;
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        if (permit == null) {
+            reject(request, response, limiter);
+            return;
+        }
+
+        boolean dropped = true;
+        try {
+            chain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            if (request.isAsyncStarted()) {
+                permit.releaseWithoutSample();
+            } else {
+                permit.release(dropped);
+            }
+        }
+    }
+
+    private boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return HttpMethod.POST.matches(method) && readPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, AdaptiveConcurrencyLimiter limiter)
+            throws IOException {
+        log.warn("Concurrency limit {} reached, rejecting {} {}", limiter.getLimit(),
+                request.getMethod(), request.getRequestURI());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .code("SERVICE_OVERLOADED")
+                .message("Service is overloaded. Please retry later.")
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
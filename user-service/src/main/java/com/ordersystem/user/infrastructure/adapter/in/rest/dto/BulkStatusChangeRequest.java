@@ -0,0 +1,27 @@
+package com.ordersystem.user.infrastructure.adapter.in.rest.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusChangeRequest {
+    @NotBlank(message = "Status is required")
+    private String status;
+
+    // El tope efectivo es status-change.max-affected
+    @Size(max = 10000, message = "At most 10000 user IDs per request")
+    private List<UUID> userIds;
+
+    private String emailDomain;
+    private String currentStatus;
+}
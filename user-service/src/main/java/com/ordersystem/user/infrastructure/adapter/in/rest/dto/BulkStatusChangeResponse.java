@@ -0,0 +1,21 @@
+package com.ordersystem.user.infrastructure.adapter.in.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusChangeResponse {
+    private String status;
+    private int affected;
+    private List<UUID> userIds;
+    // Quedan usuarios por cambiar: repetir la misma petición
+    private boolean hasMore;
+}
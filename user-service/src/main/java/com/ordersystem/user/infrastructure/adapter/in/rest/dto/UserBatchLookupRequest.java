@@ -0,0 +1,21 @@
+package com.ordersystem.user.infrastructure.adapter.in.rest.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchLookupRequest {
+    @NotEmpty(message = "At least one user ID is required")
+    @Size(max = 2000, message = "At most 2000 user IDs per request")
+    private List<UUID> ids;
+}
@@ -0,0 +1,18 @@
+package com.ordersystem.user.infrastructure.adapter.in.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchLookupResponse {
+    private List<UserResponse> users;
+    private List<UUID> missing;
+}
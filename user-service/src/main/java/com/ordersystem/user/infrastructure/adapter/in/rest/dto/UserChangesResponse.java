@@ -0,0 +1,18 @@
+package com.ordersystem.user.infrastructure.adapter.in.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangesResponse {
+    private List<UserResponse> users;
+    private String nextCursor;
+    private boolean hasMore;
+}
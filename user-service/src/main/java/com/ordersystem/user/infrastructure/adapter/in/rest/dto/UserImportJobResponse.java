@@ -0,0 +1,29 @@
+package com.ordersystem.user.infrastructure.adapter.in.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportJobResponse {
+    private String jobId;
+    private String file;
+    private String format;
+    private String state;
+    private int totalChunks;
+    private int completedChunks;
+    private int resumedChunks;
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private String rejectedFile;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
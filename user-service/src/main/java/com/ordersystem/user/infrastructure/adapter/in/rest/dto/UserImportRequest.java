@@ -0,0 +1,19 @@
+package com.ordersystem.user.infrastructure.adapter.in.rest.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRequest {
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    @Builder.Default
+    private String format = "csv";
+}
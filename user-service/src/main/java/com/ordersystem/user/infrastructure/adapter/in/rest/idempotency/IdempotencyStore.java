@@ -0,0 +1,156 @@
+package com.ordersystem.user.infrastructure.adapter.in.rest.idempotency;
+
+import com.ordersystem.common.exception.BusinessException;
+import com.ordersystem.common.exception.ConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency Store
+ * Guarda en memoria (acotada y con TTL) la respuesta de cada Idempotency-Key
+ * para reenviarla en reintentos sin volver a ejecutar el caso de uso.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Duration waitTimeout;
+
+    // Orden de inserción: el primer elemento es siempre el más antiguo
+    private final LinkedHashMap<String, Entry> entries;
+
+    public IdempotencyStore(@Value("${idempotency.max-entries}") int maxEntries,
+                            @Value("${idempotency.ttl}") Duration ttl,
+                            @Value("${idempotency.wait-timeout}") Duration waitTimeout) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.waitTimeout = waitTimeout;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyStore.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Ejecuta la acción una sola vez por clave. Las repeticiones reciben la respuesta
+     * original y las peticiones concurrentes esperan a que termine la primera.
+     */
+    public <T> ResponseEntity<T> execute(String key, Object fingerprint, Supplier<ResponseEntity<T>> action) {
+        validateKey(key);
+
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            long now = System.nanoTime();
+            purgeExpired(now);
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(fingerprint, now + ttlNanos);
+                entries.put(key, entry);
+                owner = true;
+            }
+        }
+
+        if (!Objects.equals(entry.fingerprint, fingerprint)) {
+            throw new BusinessException("IDEMPOTENCY_KEY_REUSED",
+                    "Idempotency-Key " + key + " was already used with a different request");
+        }
+
+        if (owner) {
+            return executeAsOwner(key, entry, action);
+        }
+        return replay(key, entry);
+    }
+
+    private <T> ResponseEntity<T> executeAsOwner(String key, Entry entry, Supplier<ResponseEntity<T>> action) {
+        try {
+            ResponseEntity<T> response = action.get();
+            entry.response.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            // Los fallos no se memorizan: se libera la clave para que el cliente pueda reintentar
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(String key, Entry entry) {
+        ResponseEntity<T> original;
+        try {
+            original = (ResponseEntity<T>) entry.response.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ConflictException("IDEMPOTENCY_REQUEST_IN_PROGRESS",
+                    "A request with Idempotency-Key " + key + " is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("IDEMPOTENCY_REQUEST_IN_PROGRESS",
+                    "A request with Idempotency-Key " + key + " is still being processed");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        log.debug("Replaying stored response for Idempotency-Key: {}", key);
+        return ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(original.getBody());
+    }
+
+    private void purgeExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            if (eldest.expiresAt - now > 0) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    private void validateKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("INVALID_IDEMPOTENCY_KEY",
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private static final class Entry {
+        private final Object fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        private Entry(Object fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.ordersystem.user.infrastructure.adapter.in.rest.mapper;
+
+import com.ordersystem.user.application.port.in.CreateUserCommand;
+import com.ordersystem.user.domain.model.Address;
+import com.ordersystem.user.domain.model.User;
+import com.ordersystem.user.infrastructure.adapter.in.rest.dto.AddressDto;
+import com.ordersystem.user.infrastructure.adapter.in.rest.dto.UserRequest;
+import com.ordersystem.user.infrastructure.adapter.in.rest.dto.UserResponse;
+import com.ordersystem.user.infrastructure.profiling.MappingJfrEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+/**
+ * Emite un evento JFR por cada mapeo; sin grabación activa commit() no escribe nada
+ */
+public abstract class JfrUserRestMapperDecorator implements UserRestMapper {
+
+    @Autowired
+    @Qualifier("delegate")
+    private UserRestMapper delegate;
+
+    @Override
+    public CreateUserCommand toCommand(UserRequest request) {
+        MappingJfrEvent event = MappingJfrEvent.begin("UserRestMapper.toCommand");
+        try {
+            return delegate.toCommand(request);
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public UserResponse toResponse(User user) {
+        MappingJfrEvent event = MappingJfrEvent.begin("UserRestMapper.toResponse");
+        try {
+            return delegate.toResponse(user);
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public AddressDto toAddressDto(Address address) {
+        return delegate.toAddressDto(address);
+    }
+}
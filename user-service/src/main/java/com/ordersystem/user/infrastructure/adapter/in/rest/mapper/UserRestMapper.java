@@ -5,6 +5,7 @@ import com.ordersystem.user.domain.model.User;
 import com.ordersystem.user.infrastructure.adapter.in.rest.dto.AddressDto;
 import com.ordersystem.user.infrastructure.adapter.in.rest.dto.UserRequest;
 import com.ordersystem.user.infrastructure.adapter.in.rest.dto.UserResponse;
+import org.mapstruct.DecoratedWith;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -12,6 +13,7 @@ import org.mapstruct.Mapping;
  * MapStruct Mapper for REST DTOs
  */
 @Mapper(componentModel = "spring")
+@DecoratedWith(JfrUserRestMapperDecorator.class)
 public interface UserRestMapper {
 
     CreateUserCommand toCommand(UserRequest request);
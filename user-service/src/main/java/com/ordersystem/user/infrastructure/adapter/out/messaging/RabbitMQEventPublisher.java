@@ -4,21 +4,39 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ordersystem.user.application.port.out.EventPublisher;
 import com.ordersystem.user.domain.event.UserCreatedEvent;
+import com.ordersystem.user.domain.event.UserStatusChangedEvent;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.MessagePostProcessor;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 
 /**
  * RabbitMQ Event Publisher - Output Adapter
- * Implementa el puerto de salida EventPublisher
+ * Implementa el puerto de salida EventPublisher. Dentro de una transacción los
+ * mensajes se envían tras el commit: un consumidor que recarga el usuario al
+ * recibir el evento nunca debe leer el estado anterior.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@Observed(name = "user.events.publish")
 public class RabbitMQEventPublisher implements EventPublisher {
 
+    // El timestamp permite a los consumidores medir el lag
+    private static final MessagePostProcessor TIMESTAMP = message -> {
+        message.getMessageProperties().setTimestamp(new Date());
+        return message;
+    };
+
     private final RabbitTemplate rabbitTemplate;
     private final ObjectMapper objectMapper;
 
@@ -28,15 +46,90 @@ public class RabbitMQEventPublisher implements EventPublisher {
     @Value("${rabbitmq.routing-key.user-created}")
     private String userCreatedRoutingKey;
 
+    @Value("${rabbitmq.routing-key.user-status-changed}")
+    private String userStatusChangedRoutingKey;
+
+    @Value("${rabbitmq.publish-batch-size:500}")
+    private int publishBatchSize;
+
     @Override
     public void publishUserCreatedEvent(UserCreatedEvent event) {
         try {
             String message = objectMapper.writeValueAsString(event);
-            rabbitTemplate.convertAndSend(userExchange, userCreatedRoutingKey, message);
-            log.info("Published UserCreatedEvent for user ID: {}", event.getUserId());
+            afterCommit(() -> {
+                rabbitTemplate.convertAndSend(userExchange, userCreatedRoutingKey, message, TIMESTAMP);
+                log.info("Published UserCreatedEvent for user ID: {}", event.getUserId());
+            });
         } catch (JsonProcessingException e) {
             log.error("Error publishing UserCreatedEvent", e);
             throw new RuntimeException("Failed to publish event", e);
         }
     }
+
+    @Override
+    public void publishUserCreatedEvents(List<UserCreatedEvent> events) {
+        List<String> messages = serialize(userCreatedRoutingKey, events);
+        afterCommit(() -> {
+            publishBatch(userCreatedRoutingKey, messages);
+            log.info("Published {} UserCreatedEvents", messages.size());
+        });
+    }
+
+    @Override
+    public void publishUserStatusChangedEvents(List<UserStatusChangedEvent> events) {
+        List<String> messages = serialize(userStatusChangedRoutingKey, events);
+        afterCommit(() -> {
+            publishBatch(userStatusChangedRoutingKey, messages);
+            log.info("Published {} UserStatusChangedEvents", messages.size());
+        });
+    }
+
+    /**
+     * La serialización se hace antes del commit para que un error deshaga la transacción
+     */
+    private List<String> serialize(String routingKey, List<?> events) {
+        List<String> messages = new ArrayList<>(events.size());
+        try {
+            for (Object event : events) {
+                messages.add(objectMapper.writeValueAsString(event));
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Error publishing event batch to {}", routingKey, e);
+            throw new RuntimeException("Failed to publish events", e);
+        }
+        return messages;
+    }
+
+    private static void afterCommit(Runnable send) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // Los datos ya están confirmados: un fallo del broker no debe convertirse en un 500
+                try {
+                    send.run();
+                } catch (RuntimeException e) {
+                    log.error("Events lost after commit, consumers will not see this change", e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Publica cada lote sobre un mismo canal en lugar de uno por mensaje
+     */
+    private void publishBatch(String routingKey, List<String> messages) {
+        for (int from = 0; from < messages.size(); from += publishBatchSize) {
+            List<String> batch = messages.subList(from, Math.min(from + publishBatchSize, messages.size()));
+            rabbitTemplate.invoke(operations -> {
+                for (String message : batch) {
+                    operations.convertAndSend(userExchange, routingKey, message, TIMESTAMP);
+                }
+                return null;
+            });
+        }
+    }
 }
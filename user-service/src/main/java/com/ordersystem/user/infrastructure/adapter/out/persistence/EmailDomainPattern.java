@@ -0,0 +1,28 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence;
+
+import java.util.Locale;
+
+/**
+ * Patrón LIKE "%@dominio" con los comodines del dominio escapados; las consultas
+ * que lo usan deben declarar ESCAPE '\'
+ */
+public final class EmailDomainPattern {
+
+    public static final char ESCAPE = '\\';
+
+    private EmailDomainPattern() {
+    }
+
+    public static String of(String emailDomain) {
+        String domain = emailDomain.toLowerCase(Locale.ROOT);
+        StringBuilder pattern = new StringBuilder(domain.length() + 4).append("%@");
+        for (int i = 0; i < domain.length(); i++) {
+            char c = domain.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                pattern.append(ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.toString();
+    }
+}
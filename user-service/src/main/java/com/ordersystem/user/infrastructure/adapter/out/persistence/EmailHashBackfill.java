@@ -0,0 +1,123 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Relleno de email_hash al arrancar
+ * Completa las filas que aún no lo tienen (creadas antes de la columna o por una
+ * instancia sin desplegar) en un hilo aparte y por lotes recorridos por id. Para
+ * tablas grandes el camino previsto es db/migration/users-email-hash.sql.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "email-lookup.backfill-on-startup", havingValue = "true", matchIfMissing = true)
+public class EmailHashBackfill {
+
+    private static final String FIRST_PAGE_SQL = "SELECT id, email FROM users WHERE email_hash IS NULL "
+            + "ORDER BY id FETCH FIRST ? ROWS ONLY";
+    private static final String NEXT_PAGE_SQL = "SELECT id, email FROM users WHERE email_hash IS NULL AND id > ? "
+            + "ORDER BY id FETCH FIRST ? ROWS ONLY";
+    private static final String UPDATE_SQL = "UPDATE users SET email = ?, email_hash = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserChangeLog userChangeLog;
+    private final int batchSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-email-hash-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EmailHashBackfill(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             UserChangeLog userChangeLog,
+                             @Value("${email-lookup.backfill-batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userChangeLog = userChangeLog;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        executor.execute(this::backfill);
+    }
+
+    private void backfill() {
+        long start = System.currentTimeMillis();
+        long updated = 0;
+        try {
+            byte[] lastId = null;
+            List<PendingRow> page;
+            do {
+                page = lastId == null
+                        ? jdbcTemplate.query(FIRST_PAGE_SQL, PendingRow.MAPPER, batchSize)
+                        : jdbcTemplate.query(NEXT_PAGE_SQL, PendingRow.MAPPER, lastId, batchSize);
+                if (!page.isEmpty()) {
+                    List<PendingRow> rows = page;
+                    updated += transactionTemplate.execute(status -> update(rows));
+                    lastId = page.get(page.size() - 1).id();
+                }
+            } while (page.size() == batchSize);
+            if (updated > 0) {
+                log.info("Backfilled email_hash for {} users in {} ms", updated, System.currentTimeMillis() - start);
+            }
+        } catch (RuntimeException e) {
+            log.error("email_hash backfill failed after {} rows; lookups by email miss the remaining rows", updated, e);
+        }
+    }
+
+    /**
+     * El email puede pasar a su forma canónica: las filas actualizadas van al change feed
+     */
+    private int update(List<PendingRow> page) {
+        List<UUID> updated = new ArrayList<>(page.size());
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, page, page.size(), (ps, row) -> {
+                String canonical = EmailLookupKey.canonical(row.email());
+                ps.setString(1, canonical);
+                ps.setBytes(2, EmailLookupKey.hash(canonical));
+                ps.setBytes(3, row.id());
+            });
+            page.forEach(row -> updated.add(UuidColumns.fromColumn(row.id())));
+        } catch (DataIntegrityViolationException e) {
+            // Algún email solo se distinguía de otro por mayúsculas o espacios:
+            // se reintenta fila a fila para dejar pendientes únicamente esos
+            for (PendingRow row : page) {
+                String canonical = EmailLookupKey.canonical(row.email());
+                try {
+                    jdbcTemplate.update(UPDATE_SQL, canonical, EmailLookupKey.hash(canonical), row.id());
+                    updated.add(UuidColumns.fromColumn(row.id()));
+                } catch (DataIntegrityViolationException duplicate) {
+                    log.warn("Cannot backfill email_hash for user {}: email {} already exists",
+                            UuidColumns.fromColumn(row.id()), canonical);
+                }
+            }
+        }
+        userChangeLog.record(updated);
+        return updated.size();
+    }
+
+    private record PendingRow(byte[] id, String email) {
+        private static final RowMapper<PendingRow> MAPPER =
+                (rs, rowNum) -> new PendingRow(rs.getBytes("id"), rs.getString("email"));
+    }
+}
@@ -0,0 +1,38 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence;
+
+import com.ordersystem.user.domain.model.Email;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Clave de búsqueda por email: los 16 primeros bytes del SHA-256 del email canónico.
+ * Se guarda en la columna RAW(16) email_hash, cuyo índice único sustituye al de
+ * email VARCHAR2(255). Debe coincidir con lo que calcula db/migration/users-email-hash.sql.
+ */
+public final class EmailLookupKey {
+
+    public static final int HASH_LENGTH = 16;
+
+    private EmailLookupKey() {
+    }
+
+    public static String canonical(String email) {
+        return Email.normalize(email);
+    }
+
+    /**
+     * Recibe el email ya canónico
+     */
+    public static byte[] hash(String canonicalEmail) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonicalEmail.getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(digest, HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
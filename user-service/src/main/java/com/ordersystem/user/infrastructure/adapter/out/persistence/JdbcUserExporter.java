@@ -0,0 +1,164 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.user.application.port.in.UserFileFormat;
+import com.ordersystem.user.application.port.out.UserExporter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * JDBC User Exporter - Output Adapter
+ * Recorre la tabla con un cursor forward-only y escribe cada fila directamente
+ * en la salida, sin pasar por UserJpaEntity / User / UserResponse. La escritura
+ * bloqueante sobre el socket frena la lectura cuando el cliente es lento.
+ */
+@Slf4j
+@Component
+public class JdbcUserExporter implements UserExporter {
+
+    private static final String EXPORT_SQL = "SELECT id, first_name, last_name, email, phone, street, city, "
+            + "state, zip_code, country, status, created_at, updated_at FROM users";
+
+    private static final String[] COLUMNS = {
+            "id", "firstName", "lastName", "email", "phone", "street", "city",
+            "state", "zipCode", "country", "status", "createdAt", "updatedAt"
+    };
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public JdbcUserExporter(DataSource dataSource,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void exportAll(UserFileFormat format, OutputStream output) {
+        long start = System.currentTimeMillis();
+        long rows = switch (format) {
+            case NDJSON -> writeNdjson(output);
+            case CSV -> writeCsv(output);
+        };
+        log.info("Exported {} users as {} in {} ms", rows, format, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Entrega cada fila (columnas en el orden de COLUMNS) al handler; con sharding
+     * se sustituye por el recorrido de los shards
+     */
+    protected void scan(RowCallbackHandler handler) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(EXPORT_SQL, handler));
+    }
+
+    private long writeNdjson(OutputStream output) {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // NDJSON separa los objetos raíz con '\n', no con el espacio por defecto
+            generator.setRootValueSeparator(null);
+            long[] count = {0};
+            scan(rs -> {
+                try {
+                    generator.writeStartObject();
+                    for (int i = 0; i < COLUMNS.length; i++) {
+                        generator.writeFieldName(COLUMNS[i]);
+                        String value = columnValue(rs, i + 1);
+                        if (value == null) {
+                            generator.writeNull();
+                        } else {
+                            generator.writeString(value);
+                        }
+                    }
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+            return count[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long writeCsv(OutputStream output) {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+            long[] count = {0};
+            scan(rs -> {
+                try {
+                    for (int i = 0; i < COLUMNS.length; i++) {
+                        if (i > 0) {
+                            writer.write(',');
+                        }
+                        writeCsvField(writer, columnValue(rs, i + 1));
+                    }
+                    writer.write('\n');
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            return count[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String columnValue(ResultSet rs, int column) throws SQLException {
+        if (column == 1) {
+            return UuidColumns.fromColumn(rs.getObject(column)).toString();
+        }
+        if (column >= 12) {
+            Timestamp timestamp = rs.getTimestamp(column);
+            return timestamp != null ? timestamp.toLocalDateTime().toString() : null;
+        }
+        return rs.getString(column);
+    }
+}
@@ -0,0 +1,142 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence;
+
+import com.ordersystem.user.application.port.in.UserChange;
+import com.ordersystem.user.domain.model.User;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.routing.DataSourceRoutingContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registro de cambios del change feed (GET /users/changes)
+ * Cada escritura de usuarios deja el id en user_change_queue dentro de su propia
+ * transacción. El secuenciador, uno a la vez gracias al bloqueo de la fila de
+ * user_change_sequencer, pasa a user_change_log lo ya confirmado con un número mayor
+ * que cualquiera publicado antes. El orden del feed es así el de confirmación y no el
+ * de updated_at: una transacción que confirma tarde aparece detrás del cursor de quien
+ * ya leyó, nunca delante. Todo vive en la base de datos principal.
+ */
+public class UserChangeLog {
+
+    // Límite de Oracle para listas IN
+    private static final int IN_CLAUSE_LIMIT = 1000;
+
+    private static final String ENQUEUE_SQL = "INSERT INTO user_change_queue (user_id) VALUES (?)";
+    private static final String LOCK_SQL = "SELECT last_sequence FROM user_change_sequencer WHERE id = 1 FOR UPDATE";
+    private static final String PENDING_SQL = "SELECT queue_id, user_id FROM user_change_queue "
+            + "ORDER BY queue_id FETCH FIRST ? ROWS ONLY";
+    private static final String PUBLISH_SQL = "MERGE INTO user_change_log l "
+            + "USING (SELECT CAST(? AS RAW(16)) AS user_id FROM dual) s ON (l.user_id = s.user_id) "
+            + "WHEN MATCHED THEN UPDATE SET change_sequence = ? "
+            + "WHEN NOT MATCHED THEN INSERT (user_id, change_sequence) VALUES (s.user_id, ?)";
+    private static final String ADVANCE_SQL = "UPDATE user_change_sequencer SET last_sequence = ? WHERE id = 1";
+    private static final String CHANGES_AFTER_SQL = "SELECT change_sequence, user_id FROM user_change_log "
+            + "WHERE change_sequence > ? OR (change_sequence = ? AND user_id > ?) "
+            + "ORDER BY change_sequence, user_id FETCH FIRST ? ROWS ONLY";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public UserChangeLog(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        // Los ids procesados se borran de la cola con un único IN
+        this.batchSize = Math.min(batchSize, IN_CLAUSE_LIMIT);
+    }
+
+    /**
+     * Debe ir en la transacción de la escritura: si esta se deshace, el cambio tampoco existe
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<UUID> values = new ArrayList<>(userIds);
+        jdbcTemplate.batchUpdate(ENQUEUE_SQL, values, values.size(),
+                (ps, id) -> ps.setBytes(1, UuidColumns.toBytes(id)));
+    }
+
+    /**
+     * Publica en el log todo lo confirmado en la cola; devuelve cuántas entradas de la cola ha procesado
+     */
+    public int sequencePending() {
+        int total = 0;
+        int processed;
+        do {
+            processed = transactionTemplate.execute(status -> sequenceBatch());
+            total += processed;
+        } while (processed == batchSize);
+        return total;
+    }
+
+    /**
+     * Página del feed leída siempre en el primario: en una réplica con retraso se
+     * entregaría un cursor más allá de cambios que aún no han llegado
+     */
+    public List<UserChange> changesAfter(long afterSequence, UUID afterId, int limit,
+                                         Function<List<UUID>, List<User>> loader) {
+        return DataSourceRoutingContext.runOnPrimary(() -> {
+            List<LogEntry> entries = jdbcTemplate.query(CHANGES_AFTER_SQL, LogEntry.MAPPER,
+                    afterSequence, afterSequence, UuidColumns.toBytes(afterId), limit);
+            if (entries.isEmpty()) {
+                return List.of();
+            }
+            Map<UUID, User> users = loader.apply(entries.stream().map(LogEntry::userId).toList()).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+            return entries.stream()
+                    .map(entry -> UserChange.builder()
+                            .changeSequence(entry.sequence())
+                            .userId(entry.userId())
+                            .user(users.get(entry.userId()))
+                            .build())
+                    .collect(Collectors.toList());
+        });
+    }
+
+    private int sequenceBatch() {
+        // Serializa los secuenciadores de todas las instancias
+        long sequence = jdbcTemplate.queryForObject(LOCK_SQL, Long.class) + 1;
+        List<QueuedChange> pending = jdbcTemplate.query(PENDING_SQL, QueuedChange.MAPPER, batchSize);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        Set<UUID> userIds = pending.stream()
+                .map(QueuedChange::userId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        jdbcTemplate.batchUpdate(PUBLISH_SQL, userIds, userIds.size(), (ps, id) -> {
+            ps.setBytes(1, UuidColumns.toBytes(id));
+            ps.setLong(2, sequence);
+            ps.setLong(3, sequence);
+        });
+        jdbcTemplate.update("DELETE FROM user_change_queue WHERE queue_id IN ("
+                        + String.join(", ", Collections.nCopies(pending.size(), "?")) + ")",
+                pending.stream().map(QueuedChange::queueId).toArray());
+        jdbcTemplate.update(ADVANCE_SQL, sequence);
+        return pending.size();
+    }
+
+    private record QueuedChange(long queueId, UUID userId) {
+        private static final RowMapper<QueuedChange> MAPPER = (rs, rowNum) ->
+                new QueuedChange(rs.getLong("queue_id"), UuidColumns.fromColumn(rs.getBytes("user_id")));
+    }
+
+    private record LogEntry(long sequence, UUID userId) {
+        private static final RowMapper<LogEntry> MAPPER = (rs, rowNum) ->
+                new LogEntry(rs.getLong("change_sequence"), UuidColumns.fromColumn(rs.getBytes("user_id")));
+    }
+}
@@ -0,0 +1,33 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Secuenciador del change feed
+ * Cada instancia lo lanza periódicamente; el bloqueo de UserChangeLog hace que solo
+ * una publique a la vez. El intervalo es el retraso máximo con que un cambio
+ * confirmado aparece en GET /users/changes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserChangeSequencer {
+
+    private final UserChangeLog userChangeLog;
+
+    @Scheduled(fixedDelayString = "${changefeed.sequence-interval:500ms}")
+    public void sequence() {
+        try {
+            int sequenced = userChangeLog.sequencePending();
+            if (sequenced > 0) {
+                log.debug("Sequenced {} user changes", sequenced);
+            }
+        } catch (RuntimeException e) {
+            // Los cambios siguen en la cola y se publican en la siguiente pasada
+            log.warn("User change sequencing failed: {}", e.toString());
+        }
+    }
+}
@@ -13,7 +13,9 @@ import java.util.UUID;
  * JPA Entity for User persistence
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "uk_users_email_hash", columnList = "email_hash", unique = true)
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -30,9 +32,13 @@ public class UserJpaEntity {
     @Column(name = "last_name", nullable = false, length = 100)
     private String lastName;
 
-    @Column(name = "email", nullable = false, unique = true, length = 255)
+    // Email canónico; la unicidad y las búsquedas van por email_hash
+    @Column(name = "email", nullable = false, length = 255)
     private String email;
 
+    @Column(name = "email_hash", columnDefinition = "RAW(16)")
+    private byte[] emailHash;
+
     @Column(name = "phone", length = 20)
     private String phone;
 
@@ -60,4 +66,11 @@ public class UserJpaEntity {
 
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void computeEmailHash() {
+        email = EmailLookupKey.canonical(email);
+        emailHash = EmailLookupKey.hash(email);
+    }
 }
@@ -1,16 +1,45 @@
 package com.ordersystem.user.infrastructure.adapter.out.persistence;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA Repository
  */
 @Repository
 public interface UserJpaRepository extends JpaRepository<UserJpaEntity, UUID> {
-    Optional<UserJpaEntity> findByEmail(String email);
-    boolean existsByEmail(String email);
+
+    // Búsquedas por email: el índice único de email_hash localiza la fila y la
+    // comparación con el email canónico descarta una colisión del hash
+
+    @Query("select u from UserJpaEntity u where u.emailHash = :emailHash and u.email = :email")
+    Optional<UserJpaEntity> findByEmailHash(@Param("emailHash") byte[] emailHash,
+                                            @Param("email") String email);
+
+    @Query("select count(u) > 0 from UserJpaEntity u where u.emailHash = :emailHash and u.email = :email")
+    boolean existsByEmailHash(@Param("emailHash") byte[] emailHash,
+                              @Param("email") String email);
+
+    @Query("select u.email from UserJpaEntity u where u.emailHash in :emailHashes")
+    List<String> findEmailsByEmailHashes(@Param("emailHashes") Collection<byte[]> emailHashes);
+
+    /**
+     * Recorrido completo con cursor forward-only; debe consumirse dentro de una transacción
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("select u from UserJpaEntity u")
+    Stream<UserJpaEntity> streamAll();
 }
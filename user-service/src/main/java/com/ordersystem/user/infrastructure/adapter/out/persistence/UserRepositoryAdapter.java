@@ -1,15 +1,30 @@
 package com.ordersystem.user.infrastructure.adapter.out.persistence;
 
+import com.ordersystem.user.application.port.in.BulkStatusChangeResult;
+import com.ordersystem.user.application.port.in.UserChange;
 import com.ordersystem.user.application.port.out.UserRepository;
 import com.ordersystem.user.domain.model.User;
+import com.ordersystem.user.domain.model.UserStatus;
 import com.ordersystem.user.infrastructure.adapter.out.persistence.mapper.UserPersistenceMapper;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.routing.ReadYourWritesTracker;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * User Repository Adapter - Output Adapter
@@ -17,31 +32,64 @@ import java.util.stream.Collectors;
  */
 @Component
 @RequiredArgsConstructor
+@Observed(name = "user.repository")
 public class UserRepositoryAdapter implements UserRepository {
 
+    // Límite de Oracle para listas IN
+    private static final int IN_CLAUSE_LIMIT = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO users (id, first_name, last_name, email, email_hash, "
+            + "phone, street, city, state, zip_code, country, status, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final UserJpaRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
     private final UserPersistenceMapper mapper;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final EntityManager entityManager;
+    private final UserChangeLog userChangeLog;
 
     @Override
     public User save(User user) {
         UserJpaEntity entity = mapper.toEntity(user);
         UserJpaEntity savedEntity = jpaRepository.save(entity);
+        userChangeLog.record(List.of(savedEntity.getId()));
+        readYourWritesTracker.recordWrite(savedEntity.getId(), savedEntity.getEmail());
         return mapper.toDomain(savedEntity);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findById(UUID id) {
-        return jpaRepository.findById(id)
-                .map(mapper::toDomain);
+        return readYourWritesTracker.read(id, () -> jpaRepository.findById(id)
+                .map(mapper::toDomain));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<User> findByIds(Collection<UUID> ids) {
+        List<UUID> values = ids.stream().distinct().collect(Collectors.toList());
+        return readYourWritesTracker.readAll(values, () -> {
+            List<User> users = new ArrayList<>(values.size());
+            for (int from = 0; from < values.size(); from += IN_CLAUSE_LIMIT) {
+                List<UUID> chunk = values.subList(from, Math.min(from + IN_CLAUSE_LIMIT, values.size()));
+                jpaRepository.findAllById(chunk).forEach(entity -> users.add(mapper.toDomain(entity)));
+            }
+            return users;
+        });
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
-        return jpaRepository.findByEmail(email)
-                .map(mapper::toDomain);
+        String canonical = EmailLookupKey.canonical(email);
+        return readYourWritesTracker.read(canonical, () -> jpaRepository
+                .findByEmailHash(EmailLookupKey.hash(canonical), canonical)
+                .map(mapper::toDomain));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> findAll() {
         return jpaRepository.findAll()
                 .stream()
@@ -56,6 +104,101 @@ public class UserRepositoryAdapter implements UserRepository {
 
     @Override
     public boolean existsByEmail(String email) {
-        return jpaRepository.existsByEmail(email);
+        String canonical = EmailLookupKey.canonical(email);
+        return jpaRepository.existsByEmailHash(EmailLookupKey.hash(canonical), canonical);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        List<String> values = emails.stream()
+                .map(EmailLookupKey::canonical)
+                .distinct()
+                .collect(Collectors.toList());
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < values.size(); from += IN_CLAUSE_LIMIT) {
+            List<String> chunk = values.subList(from, Math.min(from + IN_CLAUSE_LIMIT, values.size()));
+            List<byte[]> hashes = chunk.stream()
+                    .map(EmailLookupKey::hash)
+                    .collect(Collectors.toList());
+            existing.addAll(jpaRepository.findEmailsByEmailHashes(hashes));
+        }
+        // Una colisión del hash podría devolver un email que no se pidió
+        existing.retainAll(values);
+        return existing;
+    }
+
+    /**
+     * Inserción JDBC por lotes: con ids asignados, saveAll de JPA haría un merge
+     * (SELECT + INSERT) por cada fila
+     */
+    @Override
+    public void insertAll(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, users, users.size(), (ps, user) -> {
+            UserJpaEntity entity = mapper.toEntity(user);
+            ps.setBytes(1, UuidColumns.toBytes(entity.getId()));
+            ps.setString(2, entity.getFirstName());
+            ps.setString(3, entity.getLastName());
+            ps.setString(4, entity.getEmail());
+            ps.setBytes(5, EmailLookupKey.hash(entity.getEmail()));
+            ps.setString(6, entity.getPhone());
+            ps.setString(7, entity.getStreet());
+            ps.setString(8, entity.getCity());
+            ps.setString(9, entity.getState());
+            ps.setString(10, entity.getZipCode());
+            ps.setString(11, entity.getCountry());
+            ps.setString(12, entity.getStatus().name());
+            ps.setTimestamp(13, Timestamp.valueOf(entity.getCreatedAt()));
+            ps.setTimestamp(14, Timestamp.valueOf(entity.getUpdatedAt()));
+        });
+        userChangeLog.record(users.stream().map(User::getId).toList());
+    }
+
+    @Override
+    public List<UUID> updateStatusByIds(Collection<UUID> ids, UserStatus targetStatus) {
+        List<UUID> updated = UserStatusUpdates.apply(jdbcTemplate, ids.stream().distinct().toList(),
+                targetStatus, null, null);
+        userChangeLog.record(updated);
+        return updated;
+    }
+
+    /**
+     * Se pide un candidato de más para saber si quedan usuarios sin cambiar
+     */
+    @Override
+    public BulkStatusChangeResult updateStatusByEmailDomain(String emailDomain, UserStatus currentStatus,
+                                                            UserStatus targetStatus, int limit) {
+        String emailPattern = EmailDomainPattern.of(emailDomain);
+        List<UUID> candidates = UserStatusUpdates.candidates(jdbcTemplate, emailPattern, currentStatus,
+                targetStatus, limit + 1);
+        List<UUID> updated = UserStatusUpdates.apply(jdbcTemplate,
+                candidates.subList(0, Math.min(limit, candidates.size())), targetStatus, emailPattern, currentStatus);
+        userChangeLog.record(updated);
+        return BulkStatusChangeResult.builder()
+                .userIds(updated)
+                .hasMore(candidates.size() > limit)
+                .build();
+    }
+
+    @Override
+    public List<UserChange> findChangedSince(long afterSequence, UUID afterId, int limit) {
+        return userChangeLog.changesAfter(afterSequence, afterId, limit, this::findByIds);
+    }
+
+    /**
+     * Cursor en streaming; cada entidad se desacopla del contexto de persistencia
+     * tras entregarla para que la memoria no crezca con la tabla
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void scanAll(Consumer<User> consumer) {
+        try (Stream<UserJpaEntity> entities = jpaRepository.streamAll()) {
+            entities.forEach(entity -> {
+                consumer.accept(mapper.toDomain(entity));
+                entityManager.detach(entity);
+            });
+        }
     }
 }
@@ -0,0 +1,84 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence;
+
+import com.ordersystem.user.domain.model.UserStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cambio de estado masivo sobre una tabla users (la principal o la de un shard)
+ * Un UPDATE por usuario, enviados en un único batch: el recuento de cada uno dice
+ * qué usuarios ha cambiado esta llamada sin volver a buscarlos por updated_at, que
+ * pone la base de datos al ejecutar la sentencia.
+ */
+public final class UserStatusUpdates {
+
+    // Un lote de JDBC por cada tanda de filas
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String UPDATE_SQL = "UPDATE users SET status = ?, updated_at = LOCALTIMESTAMP "
+            + "WHERE id = ? AND status <> ?";
+    private static final String CANDIDATES_BY_DOMAIN_SQL = "SELECT id FROM users "
+            + "WHERE email LIKE ? ESCAPE '\\' AND status <> ?";
+
+    private UserStatusUpdates() {
+    }
+
+    /**
+     * Hasta limit usuarios del dominio (patrón de EmailDomainPattern) que aún no están en targetStatus
+     */
+    public static List<UUID> candidates(JdbcTemplate jdbcTemplate, String emailPattern, UserStatus currentStatus,
+                                        UserStatus targetStatus, int limit) {
+        List<Object> args = new ArrayList<>(List.of(emailPattern, targetStatus.name()));
+        String sql = CANDIDATES_BY_DOMAIN_SQL;
+        if (currentStatus != null) {
+            sql += " AND status = ?";
+            args.add(currentStatus.name());
+        }
+        args.add(limit);
+        return jdbcTemplate.query(sql + " FETCH FIRST ? ROWS ONLY",
+                (rs, rowNum) -> UuidColumns.fromColumn(rs.getBytes(1)), args.toArray());
+    }
+
+    /**
+     * Cambia el estado de los ids que siguen cumpliendo el criterio (emailPattern y
+     * currentStatus son opcionales) y devuelve los que ha modificado
+     */
+    public static List<UUID> apply(JdbcTemplate jdbcTemplate, List<UUID> ids, UserStatus targetStatus,
+                                   String emailPattern, UserStatus currentStatus) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String sql = UPDATE_SQL
+                + (emailPattern != null ? " AND email LIKE ? ESCAPE '\\'" : "")
+                + (currentStatus != null ? " AND status = ?" : "");
+        int[][] counts = jdbcTemplate.batchUpdate(sql, ids, BATCH_SIZE, (ps, id) -> {
+            int index = 1;
+            ps.setString(index++, targetStatus.name());
+            ps.setBytes(index++, UuidColumns.toBytes(id));
+            ps.setString(index++, targetStatus.name());
+            if (emailPattern != null) {
+                ps.setString(index++, emailPattern);
+            }
+            if (currentStatus != null) {
+                ps.setString(index, currentStatus.name());
+            }
+        });
+
+        List<UUID> updated = new ArrayList<>(ids.size());
+        int position = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Un driver que no informa del recuento por sentencia cuenta como modificada
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    updated.add(ids.get(position));
+                }
+                position++;
+            }
+        }
+        return updated;
+    }
+}
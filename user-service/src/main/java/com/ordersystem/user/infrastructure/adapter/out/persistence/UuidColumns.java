@@ -0,0 +1,29 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Conversión de UUID para el acceso JDBC directo a la columna RAW(16) id,
+ * con el mismo orden de bytes que usa Hibernate (msb, lsb)
+ */
+public final class UuidColumns {
+
+    private UuidColumns() {
+    }
+
+    public static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    public static UUID fromColumn(Object value) {
+        if (value instanceof UUID uuid) {
+            return uuid;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap((byte[]) value);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -14,6 +14,7 @@ import org.mapstruct.Mapping;
 public interface UserPersistenceMapper {
 
     @Mapping(target = "email", expression = "java(user.getEmail().getValue())")
+    @Mapping(target = "emailHash", ignore = true)
     @Mapping(target = "street", expression = "java(user.getAddress() != null ? user.getAddress().getStreet() : null)")
     @Mapping(target = "city", expression = "java(user.getAddress() != null ? user.getAddress().getCity() : null)")
     @Mapping(target = "state", expression = "java(user.getAddress() != null ? user.getAddress().getState() : null)")
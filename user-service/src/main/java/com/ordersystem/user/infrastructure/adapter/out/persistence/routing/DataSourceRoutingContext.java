@@ -0,0 +1,33 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * Contexto de enrutamiento por hilo
+ * Permite forzar el primario para lecturas que deben ver escrituras recientes
+ */
+public final class DataSourceRoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private DataSourceRoutingContext() {
+    }
+
+    public static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(PRIMARY_FORCED.get());
+    }
+
+    public static <T> T runOnPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_FORCED.get();
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_FORCED.remove();
+            } else {
+                PRIMARY_FORCED.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence.routing;
+
+public enum DataSourceType {
+    PRIMARY,
+    REPLICA
+}
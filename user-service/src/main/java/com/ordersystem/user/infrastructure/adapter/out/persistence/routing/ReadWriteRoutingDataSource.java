@@ -0,0 +1,75 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Routing DataSource
+ * Envía las transacciones read-only a la réplica y el resto al primario.
+ * Si la réplica falla se usa el primario durante el periodo de enfriamiento.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long fallbackCooldownNanos;
+
+    private volatile long replicaRetryAt;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration fallbackCooldown) {
+        this.primary = primary;
+        this.replica = replica;
+        this.fallbackCooldownNanos = fallbackCooldown.toNanos();
+        this.replicaRetryAt = System.nanoTime();
+        setTargetDataSources(Map.of(
+                DataSourceType.PRIMARY, primary,
+                DataSourceType.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !DataSourceRoutingContext.isPrimaryForced()
+                && System.nanoTime() - replicaRetryAt >= 0) {
+            return DataSourceType.REPLICA;
+        }
+        return DataSourceType.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineTargetDataSource() != replica) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            replicaRetryAt = System.nanoTime() + fallbackCooldownNanos;
+            log.warn("Replica unavailable, falling back to primary: {}", e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (determineTargetDataSource() != replica) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.getConnection(username, password);
+        } catch (SQLException e) {
+            replicaRetryAt = System.nanoTime() + fallbackCooldownNanos;
+            log.warn("Replica unavailable, falling back to primary: {}", e.getMessage());
+            return primary.getConnection(username, password);
+        }
+    }
+}
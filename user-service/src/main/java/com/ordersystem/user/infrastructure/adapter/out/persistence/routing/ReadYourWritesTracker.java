@@ -0,0 +1,74 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence.routing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Read-your-writes tracker
+ * Durante una ventana corta tras una escritura, las lecturas de esa misma clave
+ * (id o email) van al primario para no leer una réplica todavía retrasada.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final boolean active;
+    private final long windowNanos;
+    private final Map<Object, Long> recentWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(@Value("${datasource.replica.enabled:false}") boolean replicaEnabled,
+                                 @Value("${datasource.replica.read-your-writes-window:0s}") Duration window) {
+        this.active = replicaEnabled && !window.isZero();
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(Object... keys) {
+        if (!active) {
+            return;
+        }
+        long expiresAt = System.nanoTime() + windowNanos;
+        for (Object key : keys) {
+            recentWrites.put(key, expiresAt);
+        }
+        if (recentWrites.size() > PURGE_THRESHOLD) {
+            long now = System.nanoTime();
+            recentWrites.values().removeIf(expiry -> expiry - now <= 0);
+        }
+    }
+
+    public <T> T read(Object key, Supplier<T> action) {
+        if (active && isRecentlyWritten(key)) {
+            return DataSourceRoutingContext.runOnPrimary(action);
+        }
+        return action.get();
+    }
+
+    /**
+     * Lectura de varias claves a la vez: basta con que una sea reciente para ir al primario
+     */
+    public <T> T readAll(Collection<?> keys, Supplier<T> action) {
+        if (active && keys.stream().anyMatch(this::isRecentlyWritten)) {
+            return DataSourceRoutingContext.runOnPrimary(action);
+        }
+        return action.get();
+    }
+
+    private boolean isRecentlyWritten(Object key) {
+        Long expiresAt = recentWrites.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt - System.nanoTime() <= 0) {
+            recentWrites.remove(key, expiresAt);
+            return false;
+        }
+        return true;
+    }
+}
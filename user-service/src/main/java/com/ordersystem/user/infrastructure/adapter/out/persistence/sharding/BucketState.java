@@ -0,0 +1,9 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence.sharding;
+
+/**
+ * Estado de un bucket: durante MIGRATING se rechazan las escrituras
+ */
+public enum BucketState {
+    ACTIVE,
+    MIGRATING
+}
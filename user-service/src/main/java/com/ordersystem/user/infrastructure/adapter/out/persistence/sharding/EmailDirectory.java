@@ -0,0 +1,98 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence.sharding;
+
+import com.ordersystem.user.infrastructure.adapter.out.persistence.EmailLookupKey;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.UserJpaEntity;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.UuidColumns;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Email Directory
+ * Índice global email → id de usuario en la base de datos principal. Garantiza la
+ * unicidad del email entre shards; el shard se deduce del id, así que mover
+ * buckets no obliga a tocar el directorio. Las búsquedas usan el email canónico.
+ */
+public class EmailDirectory {
+
+    // Límite de Oracle para listas IN
+    private static final int IN_CLAUSE_LIMIT = 1000;
+
+    private static final String FIND_SQL = "SELECT user_id FROM user_email_directory WHERE email = ?";
+    private static final String INSERT_SQL = "INSERT INTO user_email_directory (email, user_id) VALUES (?, ?)";
+    private static final String DELETE_SQL = "DELETE FROM user_email_directory WHERE email = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmailDirectory(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<UUID> findUserId(String email) {
+        return jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> UuidColumns.fromColumn(rs.getBytes(1)),
+                        EmailLookupKey.canonical(email))
+                .stream()
+                .findFirst();
+    }
+
+    public boolean exists(String email) {
+        return findUserId(email).isPresent();
+    }
+
+    public Set<String> findExisting(Collection<String> emails) {
+        List<String> values = emails.stream()
+                .map(EmailLookupKey::canonical)
+                .distinct()
+                .collect(Collectors.toList());
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < values.size(); from += IN_CLAUSE_LIMIT) {
+            List<String> chunk = values.subList(from, Math.min(from + IN_CLAUSE_LIMIT, values.size()));
+            existing.addAll(jdbcTemplate.queryForList(
+                    "SELECT email FROM user_email_directory WHERE email IN ("
+                            + ShardUserTable.placeholders(chunk.size()) + ")",
+                    String.class, chunk.toArray()));
+        }
+        return existing;
+    }
+
+    /**
+     * Ids de la lista que tienen entrada en el directorio (índice sobre user_id)
+     */
+    public Set<UUID> findRegisteredUserIds(Collection<UUID> userIds) {
+        List<UUID> values = List.copyOf(userIds);
+        Set<UUID> registered = new HashSet<>();
+        for (int from = 0; from < values.size(); from += IN_CLAUSE_LIMIT) {
+            List<UUID> chunk = values.subList(from, Math.min(from + IN_CLAUSE_LIMIT, values.size()));
+            jdbcTemplate.query("SELECT user_id FROM user_email_directory WHERE user_id IN ("
+                            + ShardUserTable.placeholders(chunk.size()) + ")",
+                    (RowCallbackHandler) rs -> registered.add(UuidColumns.fromColumn(rs.getBytes(1))),
+                    chunk.stream().map(UuidColumns::toBytes).toArray());
+        }
+        return registered;
+    }
+
+    /**
+     * La clave primaria sobre email rechaza duplicados aunque el usuario esté en otro shard
+     */
+    public void register(String email, UUID userId) {
+        jdbcTemplate.update(INSERT_SQL, email, UuidColumns.toBytes(userId));
+    }
+
+    public void registerAll(List<UserJpaEntity> users) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, users, users.size(), (ps, user) -> {
+            ps.setString(1, user.getEmail());
+            ps.setBytes(2, UuidColumns.toBytes(user.getId()));
+        });
+    }
+
+    public void remove(String email) {
+        jdbcTemplate.update(DELETE_SQL, email);
+    }
+}
@@ -0,0 +1,184 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence.sharding;
+
+import com.ordersystem.common.exception.ConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Shard Bucket Map
+ * Cada id cae en uno de N buckets virtuales por hash; la tabla user_shard_buckets
+ * del directorio dice qué shard posee cada bucket. Se recarga periódicamente para
+ * que todas las instancias vean los movimientos del rebalanceo.
+ */
+@Slf4j
+public class ShardBucketMap implements Closeable {
+
+    private static final String SELECT_SQL = "SELECT bucket, shard, state FROM user_shard_buckets";
+    private static final String INSERT_SQL = "INSERT INTO user_shard_buckets (bucket, shard, state) VALUES (?, ?, ?)";
+    private static final String UPDATE_STATE_SQL = "UPDATE user_shard_buckets SET state = ? WHERE bucket = ?";
+    private static final String ASSIGN_SQL = "UPDATE user_shard_buckets SET shard = ?, state = ? WHERE bucket = ?";
+
+    private final JdbcTemplate directory;
+    private final int buckets;
+    private final int shardCount;
+    private final ScheduledExecutorService refresher;
+
+    private volatile int[] owners;
+    private volatile BucketState[] states;
+
+    public ShardBucketMap(JdbcTemplate directory, int buckets, int shardCount, Duration refreshInterval) {
+        this.directory = directory;
+        this.buckets = buckets;
+        this.shardCount = shardCount;
+        initialize();
+
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shard-bucket-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = refreshInterval.toMillis();
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public int bucketOf(UUID id) {
+        // Mezcla final de murmur3 sobre el hash del UUID
+        int hash = id.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, buckets);
+    }
+
+    public int shardOf(UUID id) {
+        return owners[bucketOf(id)];
+    }
+
+    public int ownerOf(int bucket) {
+        return owners[bucket];
+    }
+
+    public BucketState stateOf(int bucket) {
+        return states[bucket];
+    }
+
+    public int bucketCount() {
+        return buckets;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public void requireWritable(UUID id) {
+        requireWritable(bucketOf(id));
+    }
+
+    public void requireWritable(int bucket) {
+        if (states[bucket] == BucketState.MIGRATING) {
+            throw new ConflictException("SHARD_BUCKET_MIGRATING",
+                    "Users in bucket " + bucket + " are being moved between shards. Please retry shortly.");
+        }
+    }
+
+    /**
+     * Para escrituras que tocan filas de cualquier bucket (p.ej. por dominio de email)
+     */
+    public void requireNoMigration() {
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            requireWritable(bucket);
+        }
+    }
+
+    public Map<Integer, List<Integer>> bucketsByShard() {
+        Map<Integer, List<Integer>> byShard = new LinkedHashMap<>();
+        IntStream.range(0, shardCount).forEach(shard -> byShard.put(shard, new ArrayList<>()));
+        int[] current = owners;
+        for (int bucket = 0; bucket < current.length; bucket++) {
+            byShard.get(current[bucket]).add(bucket);
+        }
+        return byShard;
+    }
+
+    void setState(int bucket, BucketState state) {
+        directory.update(UPDATE_STATE_SQL, state.name(), bucket);
+        refresh();
+    }
+
+    void assign(int bucket, int shard) {
+        directory.update(ASSIGN_SQL, shard, BucketState.ACTIVE.name(), bucket);
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        int[] newOwners = new int[buckets];
+        BucketState[] newStates = new BucketState[buckets];
+        int[] loaded = {0};
+        directory.query(SELECT_SQL, rs -> {
+            int bucket = rs.getInt("bucket");
+            int shard = rs.getInt("shard");
+            if (bucket >= buckets || shard >= shardCount) {
+                throw new IllegalStateException("Bucket " + bucket + " is assigned to shard " + shard
+                        + " but only " + buckets + " buckets and " + shardCount + " shards are configured");
+            }
+            newOwners[bucket] = shard;
+            newStates[bucket] = BucketState.valueOf(rs.getString("state"));
+            loaded[0]++;
+        });
+        if (loaded[0] != buckets) {
+            throw new IllegalStateException("user_shard_buckets has " + loaded[0] + " rows, expected " + buckets);
+        }
+        owners = newOwners;
+        states = newStates;
+    }
+
+    @Override
+    public void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Primer arranque: reparto round-robin de los buckets entre los shards configurados
+     */
+    private void initialize() {
+        Integer existing = directory.queryForObject("SELECT COUNT(*) FROM user_shard_buckets", Integer.class);
+        if (existing == null || existing == 0) {
+            List<Object[]> rows = new ArrayList<>(buckets);
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                rows.add(new Object[]{bucket, bucket % shardCount, BucketState.ACTIVE.name()});
+            }
+            try {
+                directory.batchUpdate(INSERT_SQL, rows);
+                log.info("Initialized {} user buckets across {} shards", buckets, shardCount);
+            } catch (DuplicateKeyException e) {
+                log.debug("User buckets initialized concurrently by another instance");
+            }
+        }
+        refresh();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh shard bucket map: {}", e.getMessage());
+        }
+    }
+}
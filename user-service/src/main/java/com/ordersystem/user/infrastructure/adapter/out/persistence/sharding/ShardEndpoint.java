@@ -0,0 +1,61 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence.sharding;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for shard operations.
+ * <ul>
+ *     <li>{@code GET /actuator/shards}: buckets and users per shard, plus the pending rebalance plan</li>
+ *     <li>{@code POST /actuator/shards} {@code {"dryRun": false}}: rebalance buckets evenly</li>
+ *     <li>{@code POST /actuator/shards/{bucket}} {@code {"targetShard": 2}}: move one bucket</li>
+ * </ul>
+ * The write operations move data between databases and are unauthenticated: the endpoint
+ * is not exposed over HTTP by default, only on an internal management port.
+ */
+@Endpoint(id = "shards")
+public class ShardEndpoint {
+
+    private final ShardBucketMap bucketMap;
+    private final ShardRebalancer rebalancer;
+
+    public ShardEndpoint(ShardBucketMap bucketMap, ShardRebalancer rebalancer) {
+        this.bucketMap = bucketMap;
+        this.rebalancer = rebalancer;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<Integer, Long> rowCounts = rebalancer.rowCounts();
+        Map<Integer, Map<String, Object>> shards = new LinkedHashMap<>();
+        bucketMap.bucketsByShard().forEach((shard, buckets) -> {
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("buckets", buckets.size());
+            info.put("users", rowCounts.get(shard));
+            shards.put(shard, info);
+        });
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("bucketCount", bucketMap.bucketCount());
+        status.put("shards", shards);
+        status.put("plannedMoves", rebalancer.plan());
+        return status;
+    }
+
+    @WriteOperation
+    public Map<Integer, Integer> rebalance(@Nullable Boolean dryRun) {
+        return Boolean.FALSE.equals(dryRun) ? rebalancer.rebalance() : rebalancer.plan();
+    }
+
+    @WriteOperation
+    public Map<Integer, Integer> move(@Selector int bucket, int targetShard) {
+        rebalancer.moveBuckets(Map.of(bucket, targetShard));
+        return Map.of(bucket, bucketMap.ownerOf(bucket));
+    }
+}
@@ -0,0 +1,109 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence.sharding;
+
+import com.ordersystem.user.infrastructure.adapter.out.persistence.UuidColumns;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Shard Orphan Reconciler
+ * La fila del shard se confirma justo antes que la transacción del caso de uso, que
+ * lleva la entrada del directorio; si la instancia cae entre ambos commits la fila
+ * queda sin entrada: su email se puede volver a registrar y el usuario seguiría
+ * apareciendo en findById, findAll y la exportación. Aquí se borran esas filas,
+ * recorriendo en cada shard las creadas entre orphan-lookback y orphan-grace atrás.
+ */
+@Slf4j
+public class ShardOrphanReconciler {
+
+    private static final String PAGE_SQL = "SELECT id, created_at FROM users "
+            + "WHERE created_at >= ? AND created_at < ? AND (created_at > ? OR (created_at = ? AND id > ?)) "
+            + "ORDER BY created_at, id FETCH FIRST ? ROWS ONLY";
+    private static final String DELETE_SQL = "DELETE FROM users WHERE id = ?";
+
+    private static final UUID MIN_ID = new UUID(0, 0);
+
+    private final Shards shards;
+    private final EmailDirectory emailDirectory;
+    private final Duration grace;
+    private final Duration lookback;
+    private final int batchSize;
+
+    public ShardOrphanReconciler(Shards shards, EmailDirectory emailDirectory, Duration grace, Duration lookback,
+                                 int batchSize) {
+        this.shards = shards;
+        this.emailDirectory = emailDirectory;
+        this.grace = grace;
+        this.lookback = lookback;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${sharding.orphan-check-interval:10m}",
+            initialDelayString = "${sharding.orphan-check-interval:10m}")
+    public void reconcileScheduled() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Shard orphan check failed; retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Devuelve el número de filas huérfanas borradas
+     */
+    public int reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp from = Timestamp.valueOf(now.minus(lookback));
+        Timestamp to = Timestamp.valueOf(now.minus(grace));
+        int deleted = 0;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            deleted += reconcile(shard, from, to);
+        }
+        return deleted;
+    }
+
+    private int reconcile(int shard, Timestamp from, Timestamp to) {
+        JdbcTemplate jdbcTemplate = shards.get(shard);
+        Timestamp lastCreatedAt = from;
+        UUID lastId = MIN_ID;
+        int deleted = 0;
+        List<ShardRow> page;
+        do {
+            page = jdbcTemplate.query(PAGE_SQL, ShardRow.MAPPER, from, to, lastCreatedAt, lastCreatedAt,
+                    UuidColumns.toBytes(lastId), batchSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            Set<UUID> registered = emailDirectory.findRegisteredUserIds(page.stream().map(ShardRow::id).toList());
+            List<UUID> orphans = page.stream()
+                    .map(ShardRow::id)
+                    .filter(id -> !registered.contains(id))
+                    .toList();
+            if (!orphans.isEmpty()) {
+                jdbcTemplate.batchUpdate(DELETE_SQL, orphans, orphans.size(),
+                        (ps, id) -> ps.setBytes(1, UuidColumns.toBytes(id)));
+                log.warn("Deleted {} users without email directory entry from shard {}: {}",
+                        orphans.size(), shard, orphans);
+                deleted += orphans.size();
+            }
+            ShardRow last = page.get(page.size() - 1);
+            lastCreatedAt = last.createdAt();
+            lastId = last.id();
+        } while (page.size() == batchSize);
+        return deleted;
+    }
+
+    private record ShardRow(UUID id, Timestamp createdAt) {
+
+        static final RowMapper<ShardRow> MAPPER = (rs, rowNum) ->
+                new ShardRow(UuidColumns.fromColumn(rs.getBytes(1)), rs.getTimestamp(2));
+    }
+}
@@ -0,0 +1,188 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence.sharding;
+
+import com.ordersystem.common.exception.BusinessException;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.UserJpaEntity;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.UuidColumns;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Shard Rebalancer
+ * Mueve buckets completos entre shards:
+ * MIGRATING (se rechazan escrituras) → copia → el bucket pasa al destino → borrado en origen.
+ * Entre pasos se espera rebalance-grace para que todas las instancias recarguen el mapa.
+ */
+@Slf4j
+public class ShardRebalancer {
+
+    private static final String COPY_PAGE_SQL = "SELECT " + ShardUserTable.COLUMNS + " FROM users "
+            + "WHERE shard_bucket = ? AND id > ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+    private static final String DELETE_BUCKET_SQL = "DELETE FROM users WHERE shard_bucket = ?";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM users";
+
+    private static final UUID MIN_ID = new UUID(0, 0);
+
+    private final Shards shards;
+    private final ShardBucketMap bucketMap;
+    private final Duration grace;
+    private final int batchSize;
+
+    public ShardRebalancer(Shards shards, ShardBucketMap bucketMap, Duration grace, int batchSize) {
+        this.shards = shards;
+        this.bucketMap = bucketMap;
+        this.grace = grace;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Movimientos para dejar cada shard con buckets/N buckets (±1); tras añadir un
+     * shard vacío solo se mueven los buckets que le corresponden.
+     */
+    public Map<Integer, Integer> plan() {
+        Map<Integer, List<Integer>> byShard = bucketMap.bucketsByShard();
+        int shardCount = byShard.size();
+        int base = bucketMap.bucketCount() / shardCount;
+        int extra = bucketMap.bucketCount() % shardCount;
+
+        Deque<Integer> surplus = new ArrayDeque<>();
+        Map<Integer, Integer> deficit = new LinkedHashMap<>();
+        for (Map.Entry<Integer, List<Integer>> entry : byShard.entrySet()) {
+            int target = base + (entry.getKey() < extra ? 1 : 0);
+            List<Integer> owned = entry.getValue();
+            if (owned.size() > target) {
+                surplus.addAll(owned.subList(target, owned.size()));
+            } else if (owned.size() < target) {
+                deficit.put(entry.getKey(), target - owned.size());
+            }
+        }
+
+        Map<Integer, Integer> moves = new LinkedHashMap<>();
+        deficit.forEach((shard, missing) -> {
+            for (int i = 0; i < missing && !surplus.isEmpty(); i++) {
+                moves.put(surplus.poll(), shard);
+            }
+        });
+        return moves;
+    }
+
+    public synchronized Map<Integer, Integer> rebalance() {
+        Map<Integer, Integer> moves = plan();
+        moveBuckets(moves);
+        return moves;
+    }
+
+    /**
+     * @param moves bucket → shard de destino
+     */
+    public synchronized void moveBuckets(Map<Integer, Integer> moves) {
+        Map<Integer, Integer> pending = new LinkedHashMap<>();
+        moves.forEach((bucket, target) -> {
+            validate(bucket, target);
+            if (bucketMap.ownerOf(bucket) != target) {
+                pending.put(bucket, target);
+            }
+        });
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Integer> sources = new LinkedHashMap<>();
+        pending.keySet().forEach(bucket -> sources.put(bucket, bucketMap.ownerOf(bucket)));
+
+        log.info("Moving {} user buckets between shards", pending.size());
+        Map<Integer, Integer> moved = new LinkedHashMap<>();
+        RuntimeException failure = null;
+        pending.keySet().forEach(bucket -> bucketMap.setState(bucket, BucketState.MIGRATING));
+        try {
+            awaitGrace();
+            pending.forEach((bucket, target) -> {
+                long copied = copyBucket(bucket, sources.get(bucket), target);
+                bucketMap.assign(bucket, target);
+                moved.put(bucket, sources.get(bucket));
+                log.info("Bucket {} moved from shard {} to shard {} ({} users)",
+                        bucket, sources.get(bucket), target, copied);
+            });
+        } catch (RuntimeException e) {
+            failure = e;
+        } finally {
+            // Un fallo deja los buckets no movidos en su origen y de nuevo escribibles
+            pending.keySet().stream()
+                    .filter(bucket -> bucketMap.stateOf(bucket) == BucketState.MIGRATING)
+                    .forEach(bucket -> bucketMap.setState(bucket, BucketState.ACTIVE));
+        }
+
+        // Los buckets ya movidos se limpian en su origen aunque un bucket posterior haya fallado.
+        // Las instancias que aún no han recargado el mapa siguen leyendo del origen
+        if (!moved.isEmpty()) {
+            try {
+                awaitGrace();
+                moved.forEach((bucket, source) -> shards.get(source).update(DELETE_BUCKET_SQL, bucket));
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    throw e;
+                }
+                failure.addSuppressed(e);
+            }
+        }
+        if (failure != null) {
+            log.error("Bucket move failed after moving {} of {} buckets", moved.size(), pending.size(), failure);
+            throw failure;
+        }
+    }
+
+    public Map<Integer, Long> rowCounts() {
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            counts.put(shard, shards.get(shard).queryForObject(COUNT_SQL, Long.class));
+        }
+        return counts;
+    }
+
+    private long copyBucket(int bucket, int source, int target) {
+        JdbcTemplate from = shards.get(source);
+        JdbcTemplate to = shards.get(target);
+        // Restos de un intento anterior interrumpido
+        to.update(DELETE_BUCKET_SQL, bucket);
+
+        long copied = 0;
+        UUID lastId = MIN_ID;
+        while (true) {
+            List<UserJpaEntity> page = from.query(COPY_PAGE_SQL, ShardUserTable.ROW_MAPPER,
+                    bucket, UuidColumns.toBytes(lastId), batchSize);
+            ShardUserTable.insertAll(to, page, id -> bucket);
+            copied += page.size();
+            if (page.size() < batchSize) {
+                return copied;
+            }
+            lastId = page.get(page.size() - 1).getId();
+        }
+    }
+
+    private void validate(int bucket, int target) {
+        if (bucket < 0 || bucket >= bucketMap.bucketCount()) {
+            throw new BusinessException("INVALID_BUCKET", "Bucket must be between 0 and "
+                    + (bucketMap.bucketCount() - 1));
+        }
+        if (target < 0 || target >= shards.size()) {
+            throw new BusinessException("INVALID_SHARD", "Shard must be between 0 and " + (shards.size() - 1));
+        }
+    }
+
+    private void awaitGrace() {
+        try {
+            Thread.sleep(grace.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shard map propagation", e);
+        }
+    }
+}
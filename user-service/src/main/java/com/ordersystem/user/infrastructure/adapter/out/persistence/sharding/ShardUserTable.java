@@ -0,0 +1,101 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence.sharding;
+
+import com.ordersystem.user.domain.model.UserStatus;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.UserJpaEntity;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.UuidColumns;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Tabla users de cada shard: la de la entidad JPA más la columna shard_bucket
+ */
+final class ShardUserTable {
+
+    // Límite de Oracle para listas IN
+    private static final int IN_CLAUSE_LIMIT = 1000;
+
+    static final String COLUMNS = "id, first_name, last_name, email, phone, street, city, state, zip_code, "
+            + "country, status, created_at, updated_at";
+
+    static final String INSERT_SQL = "INSERT INTO users (" + COLUMNS + ", shard_bucket) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final RowMapper<UserJpaEntity> ROW_MAPPER = (rs, rowNum) -> UserJpaEntity.builder()
+            .id(UuidColumns.fromColumn(rs.getBytes("id")))
+            .firstName(rs.getString("first_name"))
+            .lastName(rs.getString("last_name"))
+            .email(rs.getString("email"))
+            .phone(rs.getString("phone"))
+            .street(rs.getString("street"))
+            .city(rs.getString("city"))
+            .state(rs.getString("state"))
+            .zipCode(rs.getString("zip_code"))
+            .country(rs.getString("country"))
+            .status(UserStatus.valueOf(rs.getString("status")))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
+            .build();
+
+    /**
+     * Mismo orden que Oracle aplica a RAW(16): bytes sin signo, es decir msb y lsb sin signo
+     */
+    static final Comparator<UUID> ID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    static final Comparator<UserJpaEntity> CREATION_ORDER = Comparator
+            .comparing(UserJpaEntity::getCreatedAt)
+            .thenComparing(UserJpaEntity::getId, ID_ORDER);
+
+    private ShardUserTable() {
+    }
+
+    static void insertAll(JdbcTemplate jdbcTemplate, List<UserJpaEntity> rows, ToIntFunction<UUID> bucketOf) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setBytes(1, UuidColumns.toBytes(row.getId()));
+            ps.setString(2, row.getFirstName());
+            ps.setString(3, row.getLastName());
+            ps.setString(4, row.getEmail());
+            ps.setString(5, row.getPhone());
+            ps.setString(6, row.getStreet());
+            ps.setString(7, row.getCity());
+            ps.setString(8, row.getState());
+            ps.setString(9, row.getZipCode());
+            ps.setString(10, row.getCountry());
+            ps.setString(11, row.getStatus().name());
+            ps.setTimestamp(12, Timestamp.valueOf(row.getCreatedAt()));
+            ps.setTimestamp(13, Timestamp.valueOf(row.getUpdatedAt()));
+            ps.setInt(14, bucketOf.applyAsInt(row.getId()));
+        });
+    }
+
+    /**
+     * shard_bucket IN (...) en bloques del límite de Oracle para listas IN; los buckets
+     * son enteros del mapa, no entrada del usuario
+     */
+    static String bucketFilter(List<Integer> buckets) {
+        List<String> clauses = new ArrayList<>();
+        for (int from = 0; from < buckets.size(); from += IN_CLAUSE_LIMIT) {
+            clauses.add(buckets.subList(from, Math.min(from + IN_CLAUSE_LIMIT, buckets.size())).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(", ", "shard_bucket IN (", ")")));
+        }
+        return clauses.stream().collect(Collectors.joining(" OR ", "(", ")"));
+    }
+
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
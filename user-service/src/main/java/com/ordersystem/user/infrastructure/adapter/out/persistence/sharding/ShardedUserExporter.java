@@ -0,0 +1,51 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence.sharding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.JdbcUserExporter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+
+/**
+ * Sharded User Exporter - Output Adapter
+ * Misma salida que JdbcUserExporter, leyendo los shards uno tras otro en lugar de
+ * la tabla users del DataSource principal. De cada shard solo se exportan los
+ * buckets que posee: las copias de un rebalanceo en curso no salen duplicadas.
+ */
+public class ShardedUserExporter extends JdbcUserExporter {
+
+    private static final String EXPORT_SQL = "SELECT " + ShardUserTable.COLUMNS + " FROM users WHERE ";
+
+    private final Shards shards;
+    private final ShardBucketMap bucketMap;
+    private final int fetchSize;
+
+    public ShardedUserExporter(DataSource dataSource,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper,
+                               int fetchSize,
+                               Shards shards,
+                               ShardBucketMap bucketMap) {
+        super(dataSource, transactionManager, objectMapper, fetchSize);
+        this.shards = shards;
+        this.bucketMap = bucketMap;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    protected void scan(RowCallbackHandler handler) {
+        bucketMap.bucketsByShard().forEach((shard, owned) -> {
+            if (owned.isEmpty()) {
+                return;
+            }
+            String sql = EXPORT_SQL + ShardUserTable.bucketFilter(owned);
+            shards.get(shard).query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, handler);
+        });
+    }
+}
@@ -0,0 +1,503 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence.sharding;
+
+import com.ordersystem.user.application.port.in.BulkStatusChangeResult;
+import com.ordersystem.user.application.port.in.UserChange;
+import com.ordersystem.user.application.port.out.UserRepository;
+import com.ordersystem.user.domain.model.User;
+import com.ordersystem.user.domain.model.UserStatus;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.EmailDomainPattern;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.UserChangeLog;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.UserJpaEntity;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.UserStatusUpdates;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.UuidColumns;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.mapper.UserPersistenceMapper;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Sharded User Repository Adapter - Output Adapter
+ * Implementa el puerto UserRepository sobre N bases de datos: el hash del id
+ * elige el shard, los emails se resuelven con el directorio global y las
+ * consultas sin id se lanzan en paralelo a todos los shards y se fusionan.
+ */
+@Slf4j
+@Observed(name = "user.repository")
+public class ShardedUserRepositoryAdapter implements UserRepository, Closeable {
+
+    // Límite de Oracle para listas IN
+    private static final int IN_CLAUSE_LIMIT = 1000;
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    private static final String FIND_BY_ID_SQL = "SELECT " + ShardUserTable.COLUMNS + " FROM users WHERE id = ?";
+    private static final String FIND_ALL_SQL = "SELECT " + ShardUserTable.COLUMNS + " FROM users";
+    private static final String UPDATE_SQL = "UPDATE users SET first_name = ?, last_name = ?, email = ?, phone = ?, "
+            + "street = ?, city = ?, state = ?, zip_code = ?, country = ?, status = ?, updated_at = ? WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM users WHERE id = ?";
+    private static final String PREVIOUS_STATUS_BY_DOMAIN_SQL = "SELECT id, status, updated_at FROM users "
+            + "WHERE email LIKE ? ESCAPE '\\' AND status <> ?";
+    private static final String PREVIOUS_STATUS_BY_IDS_SQL = "SELECT id, status, updated_at FROM users "
+            + "WHERE status <> ? AND id IN (";
+    private static final String UPDATED_AT_BY_IDS_SQL = "SELECT id, updated_at FROM users WHERE id IN (";
+    // Solo se restauran filas que siguen tal como las dejó la operación deshecha
+    private static final String RESTORE_SQL = UPDATE_SQL + " AND updated_at = ?";
+    private static final String RESTORE_STATUS_SQL = "UPDATE users SET status = ?, updated_at = ? "
+            + "WHERE id = ? AND status = ? AND updated_at = ?";
+
+    private final Shards shards;
+    private final ShardBucketMap bucketMap;
+    private final EmailDirectory emailDirectory;
+    private final UserPersistenceMapper mapper;
+    private final UserChangeLog userChangeLog;
+    private final ExecutorService scatterExecutor;
+
+    public ShardedUserRepositoryAdapter(Shards shards,
+                                        ShardBucketMap bucketMap,
+                                        EmailDirectory emailDirectory,
+                                        UserPersistenceMapper mapper,
+                                        UserChangeLog userChangeLog) {
+        this.shards = shards;
+        this.bucketMap = bucketMap;
+        this.emailDirectory = emailDirectory;
+        this.mapper = mapper;
+        this.userChangeLog = userChangeLog;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.scatterExecutor = Executors.newFixedThreadPool(shards.size() * 2, runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public User save(User user) {
+        UserJpaEntity entity = mapper.toEntity(user);
+        UUID id = entity.getId();
+        bucketMap.requireWritable(id);
+        JdbcTemplate shard = shardFor(id);
+
+        Optional<UserJpaEntity> existing = findEntity(shard, id);
+        if (existing.isEmpty()) {
+            // El directorio va primero: su clave primaria garantiza el email único global
+            emailDirectory.register(entity.getEmail(), id);
+            beforeCommit(() -> {
+                bucketMap.requireWritable(id);
+                ShardUserTable.insertAll(shard, List.of(entity), bucketMap::bucketOf);
+            }, () -> shard.update(DELETE_SQL, (Object) UuidColumns.toBytes(id)));
+        } else {
+            UserJpaEntity previous = existing.get();
+            if (!previous.getEmail().equals(entity.getEmail())) {
+                emailDirectory.register(entity.getEmail(), id);
+                emailDirectory.remove(previous.getEmail());
+            }
+            Timestamp updatedAt = Timestamp.valueOf(entity.getUpdatedAt());
+            // El directorio vuelve al email anterior con el rollback: la fila del shard también
+            beforeCommit(() -> {
+                bucketMap.requireWritable(id);
+                shard.update(UPDATE_SQL, updateArgs(entity, updatedAt));
+            }, () -> shard.update(RESTORE_SQL,
+                    append(updateArgs(previous, Timestamp.valueOf(previous.getUpdatedAt())), updatedAt)));
+        }
+        userChangeLog.record(List.of(id));
+        return mapper.toDomain(entity);
+    }
+
+    @Override
+    public Optional<User> findById(UUID id) {
+        return findEntity(shardFor(id), id).map(mapper::toDomain);
+    }
+
+    @Override
+    public List<User> findByIds(Collection<UUID> ids) {
+        Map<Integer, List<UUID>> byShard = ids.stream()
+                .distinct()
+                .collect(Collectors.groupingBy(bucketMap::shardOf));
+
+        return scatter(byShard.keySet(), shard -> {
+            JdbcTemplate jdbcTemplate = shards.get(shard);
+            List<UUID> values = byShard.get(shard);
+            List<UserJpaEntity> found = new ArrayList<>(values.size());
+            for (int from = 0; from < values.size(); from += IN_CLAUSE_LIMIT) {
+                List<UUID> chunk = values.subList(from, Math.min(from + IN_CLAUSE_LIMIT, values.size()));
+                found.addAll(jdbcTemplate.query(FIND_ALL_SQL + " WHERE id IN ("
+                                + ShardUserTable.placeholders(chunk.size()) + ")",
+                        ShardUserTable.ROW_MAPPER, chunk.stream().map(UuidColumns::toBytes).toArray()));
+            }
+            return found;
+        }).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return emailDirectory.findUserId(email).flatMap(this::findById);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return scatter(shard -> shards.get(shard).query(FIND_ALL_SQL, ShardUserTable.ROW_MAPPER)).stream()
+                .sorted(ShardUserTable.CREATION_ORDER)
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        bucketMap.requireWritable(id);
+        JdbcTemplate shard = shardFor(id);
+        findEntity(shard, id).ifPresent(entity -> {
+            emailDirectory.remove(entity.getEmail());
+            beforeCommit(() -> {
+                bucketMap.requireWritable(id);
+                shard.update(DELETE_SQL, (Object) UuidColumns.toBytes(id));
+            }, () -> ShardUserTable.insertAll(shard, List.of(entity), bucketMap::bucketOf));
+        });
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return emailDirectory.exists(email);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return emailDirectory.findExisting(emails);
+    }
+
+    @Override
+    public void insertAll(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        List<UserJpaEntity> entities = users.stream().map(mapper::toEntity).toList();
+        entities.forEach(entity -> bucketMap.requireWritable(entity.getId()));
+        emailDirectory.registerAll(entities);
+
+        Map<Integer, List<UserJpaEntity>> byShard = entities.stream()
+                .collect(Collectors.groupingBy(entity -> bucketMap.shardOf(entity.getId())));
+        beforeCommit(() -> {
+            entities.forEach(entity -> bucketMap.requireWritable(entity.getId()));
+            scatter(byShard.keySet(), shard -> {
+                ShardUserTable.insertAll(shards.get(shard), byShard.get(shard), bucketMap::bucketOf);
+                return List.of();
+            });
+        }, () -> byShard.forEach((shard, rows) ->
+                deleteAll(shards.get(shard), rows.stream().map(UserJpaEntity::getId).toList())));
+        userChangeLog.record(entities.stream().map(UserJpaEntity::getId).toList());
+    }
+
+    @Override
+    public List<UUID> updateStatusByIds(Collection<UUID> ids, UserStatus targetStatus) {
+        ids.forEach(bucketMap::requireWritable);
+        Map<Integer, List<UUID>> byShard = ids.stream()
+                .distinct()
+                .collect(Collectors.groupingBy(bucketMap::shardOf));
+        Map<Integer, List<StatusChange>> changes = new ConcurrentHashMap<>();
+        afterRollback(() -> restoreStatus(changes, targetStatus));
+
+        List<UUID> updatedIds = scatter(byShard.keySet(), shard -> {
+            JdbcTemplate jdbcTemplate = shards.get(shard);
+            List<UUID> values = byShard.get(shard);
+            List<UUID> updated = new ArrayList<>();
+            for (int from = 0; from < values.size(); from += IN_CLAUSE_LIMIT) {
+                List<UUID> chunk = values.subList(from, Math.min(from + IN_CLAUSE_LIMIT, values.size()));
+                List<Object> args = new ArrayList<>(List.of(targetStatus.name()));
+                chunk.forEach(id -> args.add(UuidColumns.toBytes(id)));
+                List<PreviousStatus> previous = jdbcTemplate.query(PREVIOUS_STATUS_BY_IDS_SQL
+                                + ShardUserTable.placeholders(chunk.size()) + ")",
+                        PreviousStatus.ROW_MAPPER, args.toArray());
+                updated.addAll(changeStatus(shard, previous, targetStatus, null, null, changes));
+            }
+            return updated;
+        });
+        userChangeLog.record(updatedIds);
+        return updatedIds;
+    }
+
+    /**
+     * Cada shard propone hasta limit + 1 candidatos; se cambian los limit primeros
+     * del conjunto y el resto indica que quedan usuarios por cambiar
+     */
+    @Override
+    public BulkStatusChangeResult updateStatusByEmailDomain(String emailDomain, UserStatus currentStatus,
+                                                            UserStatus targetStatus, int limit) {
+        bucketMap.requireNoMigration();
+        String emailPattern = EmailDomainPattern.of(emailDomain);
+        List<Object> args = new ArrayList<>(List.of(emailPattern, targetStatus.name()));
+        String sql = PREVIOUS_STATUS_BY_DOMAIN_SQL;
+        if (currentStatus != null) {
+            sql += " AND status = ?";
+            args.add(currentStatus.name());
+        }
+        args.add(limit + 1);
+        String candidatesSql = sql + " FETCH FIRST ? ROWS ONLY";
+        Map<Integer, List<PreviousStatus>> candidates = new ConcurrentHashMap<>();
+        scatter(shard -> {
+            candidates.put(shard, shards.get(shard).query(candidatesSql, PreviousStatus.ROW_MAPPER, args.toArray()));
+            return List.of();
+        });
+
+        Map<Integer, List<PreviousStatus>> selected = new HashMap<>();
+        int remaining = limit;
+        int total = 0;
+        for (Map.Entry<Integer, List<PreviousStatus>> entry : candidates.entrySet()) {
+            List<PreviousStatus> rows = entry.getValue();
+            total += rows.size();
+            int taken = Math.min(remaining, rows.size());
+            if (taken > 0) {
+                selected.put(entry.getKey(), rows.subList(0, taken));
+                remaining -= taken;
+            }
+        }
+
+        Map<Integer, List<StatusChange>> changes = new ConcurrentHashMap<>();
+        afterRollback(() -> restoreStatus(changes, targetStatus));
+        List<UUID> updatedIds = scatter(selected.keySet(), shard ->
+                changeStatus(shard, selected.get(shard), targetStatus, emailPattern, currentStatus, changes));
+        userChangeLog.record(updatedIds);
+        return BulkStatusChangeResult.builder()
+                .userIds(updatedIds)
+                .hasMore(total > limit)
+                .build();
+    }
+
+    /**
+     * El registro de cambios está en la base de datos principal; los usuarios se leen de sus shards
+     */
+    @Override
+    public List<UserChange> findChangedSince(long afterSequence, UUID afterId, int limit) {
+        return userChangeLog.changesAfter(afterSequence, afterId, limit, this::findByIds);
+    }
+
+    /**
+     * Shard a shard, con cursor y solo los buckets propios
+     */
+    @Override
+    public void scanAll(Consumer<User> consumer) {
+        bucketMap.bucketsByShard().forEach((shard, owned) -> {
+            if (owned.isEmpty()) {
+                return;
+            }
+            String sql = FIND_ALL_SQL + " WHERE " + ShardUserTable.bucketFilter(owned);
+            shards.get(shard).query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setFetchSize(SCAN_FETCH_SIZE);
+                return statement;
+            }, (RowCallbackHandler) rs -> consumer.accept(mapper.toDomain(ShardUserTable.ROW_MAPPER.mapRow(rs, 0))));
+        });
+    }
+
+    @Override
+    public void close() {
+        scatterExecutor.shutdownNow();
+    }
+
+    private JdbcTemplate shardFor(UUID id) {
+        return shards.get(bucketMap.shardOf(id));
+    }
+
+    private Optional<UserJpaEntity> findEntity(JdbcTemplate shard, UUID id) {
+        return shard.query(FIND_BY_ID_SQL, ShardUserTable.ROW_MAPPER, (Object) UuidColumns.toBytes(id))
+                .stream()
+                .findFirst();
+    }
+
+    private void deleteAll(JdbcTemplate shard, List<UUID> ids) {
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_LIMIT) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_LIMIT, ids.size()));
+            shard.update("DELETE FROM users WHERE id IN (" + ShardUserTable.placeholders(chunk.size()) + ")",
+                    chunk.stream().map(UuidColumns::toBytes).toArray());
+        }
+    }
+
+    private static Object[] updateArgs(UserJpaEntity entity, Timestamp updatedAt) {
+        return new Object[]{entity.getFirstName(), entity.getLastName(), entity.getEmail(), entity.getPhone(),
+                entity.getStreet(), entity.getCity(), entity.getState(), entity.getZipCode(), entity.getCountry(),
+                entity.getStatus().name(), updatedAt, UuidColumns.toBytes(entity.getId())};
+    }
+
+    private static Object[] append(Object[] args, Object value) {
+        Object[] result = Arrays.copyOf(args, args.length + 1);
+        result[args.length] = value;
+        return result;
+    }
+
+    /**
+     * Cambia el estado de las filas leídas en previous y guarda, para el rollback,
+     * su estado anterior y el updated_at que les ha puesto la base de datos
+     */
+    private List<UUID> changeStatus(int shard, List<PreviousStatus> previous, UserStatus targetStatus,
+                                    String emailPattern, UserStatus currentStatus,
+                                    Map<Integer, List<StatusChange>> changes) {
+        JdbcTemplate jdbcTemplate = shards.get(shard);
+        List<UUID> updated = UserStatusUpdates.apply(jdbcTemplate,
+                previous.stream().map(PreviousStatus::id).toList(), targetStatus, emailPattern, currentStatus);
+        if (updated.isEmpty()) {
+            return updated;
+        }
+        Map<UUID, Timestamp> updatedAt = new HashMap<>();
+        for (int from = 0; from < updated.size(); from += IN_CLAUSE_LIMIT) {
+            List<UUID> chunk = updated.subList(from, Math.min(from + IN_CLAUSE_LIMIT, updated.size()));
+            jdbcTemplate.query(UPDATED_AT_BY_IDS_SQL + ShardUserTable.placeholders(chunk.size()) + ")",
+                    (RowCallbackHandler) rs ->
+                            updatedAt.put(UuidColumns.fromColumn(rs.getBytes(1)), rs.getTimestamp(2)),
+                    chunk.stream().map(UuidColumns::toBytes).toArray());
+        }
+        List<StatusChange> shardChanges = changes.computeIfAbsent(shard, key -> new CopyOnWriteArrayList<>());
+        previous.stream()
+                .filter(row -> updatedAt.containsKey(row.id()))
+                .forEach(row -> shardChanges.add(new StatusChange(row.id(), row.status(), row.updatedAt(),
+                        updatedAt.get(row.id()))));
+        return updated;
+    }
+
+    /**
+     * Devuelve al estado anterior las filas que el cambio masivo dejó en targetStatus
+     * con su updated_at; las modificadas después por otra operación no se tocan
+     */
+    private void restoreStatus(Map<Integer, List<StatusChange>> changes, UserStatus targetStatus) {
+        changes.forEach((shard, rows) -> {
+            if (rows.isEmpty()) {
+                return;
+            }
+            shards.get(shard).batchUpdate(RESTORE_STATUS_SQL, rows, IN_CLAUSE_LIMIT, (ps, row) -> {
+                ps.setString(1, row.previousStatus());
+                ps.setTimestamp(2, row.previousUpdatedAt());
+                ps.setBytes(3, UuidColumns.toBytes(row.id()));
+                ps.setString(4, targetStatus.name());
+                ps.setTimestamp(5, row.updatedAt());
+            });
+            log.warn("Restored status of {} users on shard {} after rollback", rows.size(), shard);
+        });
+    }
+
+    private <T> List<T> scatter(Function<Integer, List<T>> query) {
+        return scatter(IntStream.range(0, shards.size()).boxed().toList(), query);
+    }
+
+    /**
+     * Lanza la consulta en paralelo en cada shard. Durante un rebalanceo un bucket
+     * puede existir a la vez en el shard de origen y en el de destino: solo se
+     * aceptan filas de buckets que el shard posee.
+     */
+    private <T> List<T> scatter(Collection<Integer> shardIndexes, Function<Integer, List<T>> query) {
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>();
+        for (Integer shard : shardIndexes) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard), scatterExecutor)
+                    .thenApply(rows -> ownedRows(shard, rows)));
+        }
+        List<T> results = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<T>> future : futures) {
+                results.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    private <T> List<T> ownedRows(int shard, List<T> rows) {
+        List<T> owned = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            UUID id = row instanceof UserJpaEntity entity ? entity.getId() : row instanceof UUID uuid ? uuid : null;
+            if (id == null || bucketMap.shardOf(id) == shard) {
+                owned.add(row);
+            }
+        }
+        return owned;
+    }
+
+    private record PreviousStatus(UUID id, String status, Timestamp updatedAt) {
+
+        static final RowMapper<PreviousStatus> ROW_MAPPER = (rs, rowNum) -> new PreviousStatus(
+                UuidColumns.fromColumn(rs.getBytes(1)), rs.getString(2), rs.getTimestamp(3));
+    }
+
+    private record StatusChange(UUID id, String previousStatus, Timestamp previousUpdatedAt, Timestamp updatedAt) {
+    }
+
+    /**
+     * Las escrituras en los shards no forman parte de la transacción del caso de uso:
+     * se aplazan a justo antes de su commit, así nadie lee filas de una transacción que
+     * aún puede deshacerse, y si el commit falla (y con él el directorio) se deshacen.
+     * Una caída entre la escritura y el commit deja filas sin entrada en el directorio,
+     * que borra ShardOrphanReconciler.
+     */
+    private static void beforeCommit(Runnable write, Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean started;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // Una escritura que falla a medias también se deshace
+                started = true;
+                write.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (started && status == STATUS_ROLLED_BACK) {
+                    undo.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Los cambios de estado masivos escriben en los shards al momento, porque deben
+     * devolver los ids modificados; si la transacción se deshace se restauran. Se
+     * registra en el hilo del caso de uso, antes de repartir el trabajo: la
+     * sincronización es thread-local.
+     */
+    private static void afterRollback(Runnable compensation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    compensation.run();
+                }
+            }
+        });
+    }
+}
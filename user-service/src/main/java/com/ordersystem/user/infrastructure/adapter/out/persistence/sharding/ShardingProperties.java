@@ -0,0 +1,55 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sharding configuration (sharding.*)
+ */
+@Data
+@ConfigurationProperties("sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    /**
+     * Número fijo de buckets virtuales; el rebalanceo mueve buckets completos entre shards
+     */
+    private int buckets = 1024;
+
+    private Duration bucketRefreshInterval = Duration.ofSeconds(5);
+
+    /**
+     * Espera para que todas las instancias vean el cambio de estado de un bucket
+     */
+    private Duration rebalanceGrace = Duration.ofSeconds(10);
+
+    private int rebalanceBatchSize = 1000;
+
+    /**
+     * Filas de los shards sin entrada en el directorio: solo se borran las creadas hace
+     * más de orphan-grace (transacciones aún en curso) y menos de orphan-lookback
+     */
+    private Duration orphanGrace = Duration.ofMinutes(15);
+
+    private Duration orphanLookback = Duration.ofHours(24);
+
+    private int orphanBatchSize = 1000;
+
+    private boolean initializeSchema;
+
+    private List<ShardDataSource> shards = new ArrayList<>();
+
+    @Data
+    public static class ShardDataSource {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
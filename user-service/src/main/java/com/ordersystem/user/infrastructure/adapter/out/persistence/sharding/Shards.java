@@ -0,0 +1,45 @@
+package com.ordersystem.user.infrastructure.adapter.out.persistence.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Las bases de datos de usuarios; el índice de cada shard es su posición en sharding.shards
+ */
+public class Shards implements Closeable {
+
+    private final List<HikariDataSource> dataSources;
+    private final List<JdbcTemplate> jdbcTemplates = new ArrayList<>();
+
+    public Shards(List<HikariDataSource> dataSources) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalStateException("sharding.shards must declare at least one datasource");
+        }
+        this.dataSources = dataSources;
+        for (HikariDataSource dataSource : dataSources) {
+            jdbcTemplates.add(new JdbcTemplate(dataSource));
+        }
+    }
+
+    public int size() {
+        return jdbcTemplates.size();
+    }
+
+    public JdbcTemplate get(int shard) {
+        return jdbcTemplates.get(shard);
+    }
+
+    public List<HikariDataSource> dataSources() {
+        return Collections.unmodifiableList(dataSources);
+    }
+
+    @Override
+    public void close() {
+        dataSources.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,186 @@
+package com.ordersystem.user.infrastructure.adapter.out.readmodel;
+
+import com.ordersystem.user.application.port.out.UserReadModel;
+import com.ordersystem.user.domain.model.Address;
+import com.ordersystem.user.domain.model.Email;
+import com.ordersystem.user.domain.model.User;
+import com.ordersystem.user.domain.model.UserStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory User Read Model - Output Adapter
+ * Proyección indexada por id y por email. Se carga con un recorrido de la tabla
+ * y se mantiene al día con los eventos de user.exchange. La antigüedad se acota con
+ * el lag del último mensaje y con el tiempo sin recibir ninguno (heartbeat incluido).
+ */
+@Slf4j
+@Component
+public class InMemoryUserReadModel implements UserReadModel {
+
+    private final boolean enabled;
+    private final long maxStalenessMillis;
+    private final long heartbeatIntervalMillis;
+
+    private final Map<UUID, UserView> byId = new ConcurrentHashMap<>();
+    private final Map<String, UUID> byEmail = new ConcurrentHashMap<>();
+
+    private final Counter eventsApplied;
+
+    private volatile boolean ready;
+    private volatile LocalDateTime lastEventOccurredAt;
+    private volatile long lastEventLagMillis;
+    private volatile long lastContactMillis;
+
+    public InMemoryUserReadModel(@Value("${readmodel.enabled:false}") boolean enabled,
+                                 @Value("${readmodel.max-staleness:5s}") Duration maxStaleness,
+                                 @Value("${readmodel.heartbeat-interval:1s}") Duration heartbeatInterval,
+                                 MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxStalenessMillis = maxStaleness.toMillis();
+        this.heartbeatIntervalMillis = heartbeatInterval.toMillis();
+        this.eventsApplied = Counter.builder("user.readmodel.events.applied")
+                .register(meterRegistry);
+        Gauge.builder("user.readmodel.size", byId, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("user.readmodel.lag", this, InMemoryUserReadModel::stalenessMillis)
+                .description("Lower bound of the read model staleness: last message lag or silence "
+                        + "beyond the heartbeat interval")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("user.readmodel.available", this, model -> model.isAvailable() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return enabled && ready && stalenessMillis() <= maxStalenessMillis;
+    }
+
+    /**
+     * Sin mensajes durante más de un intervalo de heartbeat, todo lo que pase de ese
+     * intervalo es retraso seguro aunque el último lote llegara al día
+     */
+    private long stalenessMillis() {
+        long silence = System.currentTimeMillis() - lastContactMillis - heartbeatIntervalMillis;
+        return Math.max(lastEventLagMillis, silence);
+    }
+
+    @Override
+    public Optional<User> findById(UUID id) {
+        return Optional.ofNullable(byId.get(id)).map(UserView::toDomain);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        UUID id = byEmail.get(email.toLowerCase());
+        return id != null ? findById(id) : Optional.empty();
+    }
+
+    @Override
+    public List<User> findAll() {
+        return byId.values().stream()
+                .map(UserView::toDomain)
+                .toList();
+    }
+
+    /**
+     * Inserta o reemplaza la vista; nunca sustituye una versión más reciente
+     * (el recorrido inicial puede competir con los eventos).
+     */
+    public void upsert(User user) {
+        UserView incoming = UserView.from(user);
+        UserView[] previous = new UserView[1];
+        UserView current = byId.compute(incoming.id(), (id, existing) -> {
+            previous[0] = existing;
+            if (existing != null && existing.updatedAt().isAfter(incoming.updatedAt())) {
+                return existing;
+            }
+            return incoming;
+        });
+        if (current == incoming) {
+            if (previous[0] != null && !previous[0].email().equals(incoming.email())) {
+                byEmail.remove(previous[0].email(), incoming.id());
+            }
+            byEmail.put(incoming.email(), incoming.id());
+        }
+    }
+
+    public void eventsApplied(int count, LocalDateTime latestOccurredAt) {
+        eventsApplied.increment(count);
+        lastContactMillis = System.currentTimeMillis();
+        if (latestOccurredAt != null) {
+            lastEventOccurredAt = latestOccurredAt;
+            long occurredAtMillis = latestOccurredAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            lastEventLagMillis = Math.max(0, System.currentTimeMillis() - occurredAtMillis);
+        }
+    }
+
+    public void markReady() {
+        lastEventLagMillis = 0;
+        lastContactMillis = System.currentTimeMillis();
+        ready = true;
+        log.info("User read model ready with {} users", byId.size());
+    }
+
+    public void markStale() {
+        if (ready) {
+            log.warn("User read model marked stale, reads fall back to the database");
+        }
+        ready = false;
+    }
+
+    public LocalDateTime getLastEventOccurredAt() {
+        return lastEventOccurredAt;
+    }
+
+    private record UserView(UUID id, String firstName, String lastName, String email, String phone,
+                            String street, String city, String state, String zipCode, String country,
+                            UserStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static UserView from(User user) {
+            Address address = user.getAddress();
+            return new UserView(user.getId(), user.getFirstName(), user.getLastName(),
+                    user.getEmail().getValue(), user.getPhone(),
+                    address != null ? address.getStreet() : null,
+                    address != null ? address.getCity() : null,
+                    address != null ? address.getState() : null,
+                    address != null ? address.getZipCode() : null,
+                    address != null ? address.getCountry() : null,
+                    user.getStatus(), user.getCreatedAt(), user.getUpdatedAt());
+        }
+
+        User toDomain() {
+            return User.builder()
+                    .id(id)
+                    .firstName(firstName)
+                    .lastName(lastName)
+                    .email(new Email(email))
+                    .phone(phone)
+                    .address(Address.builder()
+                            .street(street)
+                            .city(city)
+                            .state(state)
+                            .zipCode(zipCode)
+                            .country(country)
+                            .build())
+                    .status(status)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.ordersystem.user.infrastructure.adapter.out.readmodel;
+
+import com.ordersystem.user.application.port.out.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carga inicial del read model
+ * Recorre los usuarios con UserRepository.scanAll (en streaming, sin materializar
+ * la lista; con sharding, shard a shard) en un hilo aparte; hasta que termina,
+ * las lecturas van a la base de datos.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "readmodel.enabled", havingValue = "true")
+public class UserReadModelBootstrap {
+
+    private final InMemoryUserReadModel readModel;
+    private final UserRepository userRepository;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-readmodel-bootstrap");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    public UserReadModelBootstrap(InMemoryUserReadModel readModel, UserRepository userRepository) {
+        this.readModel = readModel;
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Programa una reconstrucción completa; las peticiones repetidas mientras
+     * hay una pendiente se agrupan en una sola.
+     */
+    public void rebuild() {
+        readModel.markStale();
+        if (rebuildPending.compareAndSet(false, true)) {
+            executor.execute(this::scan);
+        }
+    }
+
+    private void scan() {
+        rebuildPending.set(false);
+        long start = System.currentTimeMillis();
+        try {
+            AtomicLong count = new AtomicLong();
+            userRepository.scanAll(user -> {
+                readModel.upsert(user);
+                count.incrementAndGet();
+            });
+            readModel.markReady();
+            log.info("User read model bootstrapped with {} rows in {} ms", count.get(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("User read model bootstrap failed, reads keep using the database", e);
+        }
+    }
+}
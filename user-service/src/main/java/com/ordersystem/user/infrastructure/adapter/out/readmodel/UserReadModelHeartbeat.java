@@ -0,0 +1,51 @@
+package com.ordersystem.user.infrastructure.adapter.out.readmodel;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.user.infrastructure.adapter.in.messaging.UserEventMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Heartbeat del read model
+ * Envía periódicamente un mensaje sin usuario a la cola propia de la instancia.
+ * Al recorrer el mismo camino que los eventos, su llegada acota la antigüedad del
+ * read model aunque no haya cambios, y su ausencia delata un consumidor parado.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "readmodel.enabled", havingValue = "true")
+public class UserReadModelHeartbeat {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final String queue;
+
+    public UserReadModelHeartbeat(RabbitTemplate rabbitTemplate,
+                                  ObjectMapper objectMapper,
+                                  @Qualifier("userReadModelQueue") Queue userReadModelQueue) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.queue = userReadModelQueue.getName();
+    }
+
+    @Scheduled(fixedDelayString = "${readmodel.heartbeat-interval:1s}")
+    public void send() {
+        try {
+            String message = objectMapper.writeValueAsString(UserEventMessage.builder()
+                    .occurredAt(LocalDateTime.now())
+                    .build());
+            rabbitTemplate.convertAndSend("", queue, message);
+        } catch (JsonProcessingException | AmqpException e) {
+            log.debug("Read model heartbeat not sent: {}", e.toString());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ordersystem.user.infrastructure.config;
+
+import com.ordersystem.user.infrastructure.adapter.out.persistence.UserChangeLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Change Feed Configuration
+ * Las tablas del registro de cambios están en la base de datos principal, también con sharding
+ */
+@Configuration
+@EnableScheduling
+public class ChangeFeedConfig {
+
+    private static final String CHANGE_FEED_SCHEMA = "db/changefeed/change-feed-schema.sql";
+
+    @Bean
+    public UserChangeLog userChangeLog(DataSource dataSource,
+                                       JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${changefeed.initialize-schema:false}") boolean initializeSchema,
+                                       @Value("${changefeed.sequencer-batch-size:1000}") int batchSize) {
+        if (initializeSchema) {
+            SchemaScripts.run(dataSource, CHANGE_FEED_SCHEMA);
+        }
+        return new UserChangeLog(jdbcTemplate, new TransactionTemplate(transactionManager), batchSize);
+    }
+}
@@ -0,0 +1,64 @@
+package com.ordersystem.user.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.user.infrastructure.adapter.in.rest.concurrency.AdaptiveConcurrencyLimiter;
+import com.ordersystem.user.infrastructure.adapter.in.rest.concurrency.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Concurrency Limit Configuration
+ * Límites adaptativos independientes para lecturas y escrituras
+ */
+@Configuration
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Value("${concurrency-limit.tolerance:1.5}")
+    private double tolerance;
+
+    @Value("${concurrency-limit.smoothing:0.2}")
+    private double smoothing;
+
+    @Bean
+    public AdaptiveConcurrencyLimiter readConcurrencyLimiter(
+            @Value("${concurrency-limit.read.initial-limit:20}") int initialLimit,
+            @Value("${concurrency-limit.read.min-limit:4}") int minLimit,
+            @Value("${concurrency-limit.read.max-limit:100}") int maxLimit,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("read", initialLimit, minLimit, maxLimit,
+                tolerance, smoothing, meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter writeConcurrencyLimiter(
+            @Value("${concurrency-limit.write.initial-limit:10}") int initialLimit,
+            @Value("${concurrency-limit.write.min-limit:2}") int minLimit,
+            @Value("${concurrency-limit.write.max-limit:30}") int maxLimit,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("write", initialLimit, minLimit, maxLimit,
+                tolerance, smoothing, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Qualifier("readConcurrencyLimiter") AdaptiveConcurrencyLimiter readLimiter,
+            @Qualifier("writeConcurrencyLimiter") AdaptiveConcurrencyLimiter writeLimiter,
+            @Value("${concurrency-limit.excluded-paths:/actuator/**}") List<String> excludedPaths,
+            @Value("${concurrency-limit.read-paths:}") List<String> readPaths,
+            ObjectMapper objectMapper) {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(readLimiter, writeLimiter,
+                excludedPaths, readPaths, objectMapper);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registration;
+    }
+}
@@ -1,5 +1,8 @@
 package com.ordersystem.user.infrastructure.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.common.messaging.BatchConsumerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -23,6 +26,12 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.routing-key.user-created}")
     private String userCreatedRoutingKey;
 
+    @Value("${rabbitmq.queue.user-status-changed}")
+    private String userStatusChangedQueue;
+
+    @Value("${rabbitmq.routing-key.user-status-changed}")
+    private String userStatusChangedRoutingKey;
+
     @Bean
     public TopicExchange userExchange() {
         return new TopicExchange(userExchange);
@@ -41,6 +50,19 @@ public class RabbitMQConfig {
                 .with(userCreatedRoutingKey);
     }
 
+    @Bean
+    public Queue userStatusChangedQueue() {
+        return QueueBuilder.durable(userStatusChangedQueue).build();
+    }
+
+    @Bean
+    public Binding userStatusChangedBinding() {
+        return BindingBuilder
+                .bind(userStatusChangedQueue())
+                .to(userExchange())
+                .with(userStatusChangedRoutingKey);
+    }
+
     @Bean
     public Jackson2JsonMessageConverter messageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -50,6 +72,16 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(messageConverter());
+        // Propaga el contexto de traza en las cabeceras AMQP y crea un span por envío
+        template.setObservationEnabled(true);
         return template;
     }
+
+    @Bean
+    public BatchConsumerFactory batchConsumerFactory(ConnectionFactory connectionFactory,
+                                                     AmqpAdmin amqpAdmin,
+                                                     ObjectMapper objectMapper,
+                                                     MeterRegistry meterRegistry) {
+        return new BatchConsumerFactory(connectionFactory, amqpAdmin, objectMapper, meterRegistry);
+    }
 }
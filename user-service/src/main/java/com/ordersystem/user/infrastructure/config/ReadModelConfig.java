@@ -0,0 +1,60 @@
+package com.ordersystem.user.infrastructure.config;
+
+import com.ordersystem.common.messaging.BatchConsumerFactory;
+import com.ordersystem.common.messaging.BatchConsumerProperties;
+import com.ordersystem.user.infrastructure.adapter.in.messaging.UserEventMessage;
+import com.ordersystem.user.infrastructure.adapter.in.messaging.UserReadModelProjector;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * User Read Model Configuration
+ * Cada instancia tiene su propia cola anónima enlazada a todos los eventos de usuario;
+ * la cola de mensajes fallidos es una sola, con nombre fijo, para todas las instancias
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "readmodel.enabled", havingValue = "true")
+public class ReadModelConfig {
+
+    private static final String USER_EVENTS_PATTERN = "user.#";
+    private static final String DEAD_LETTER_QUEUE = "user.readmodel.dlq";
+
+    @Bean
+    public Queue userReadModelQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding userReadModelBinding(TopicExchange userExchange) {
+        return BindingBuilder
+                .bind(userReadModelQueue())
+                .to(userExchange)
+                .with(USER_EVENTS_PATTERN);
+    }
+
+    @Bean
+    public Queue userReadModelDeadLetterQueue() {
+        return QueueBuilder.durable(DEAD_LETTER_QUEUE).build();
+    }
+
+    @Bean
+    public SimpleMessageListenerContainer userReadModelConsumer(BatchConsumerFactory batchConsumerFactory,
+                                                                UserReadModelProjector projector) {
+        BatchConsumerProperties properties = BatchConsumerProperties.builder()
+                .queue(userReadModelQueue().getName())
+                .deadLetterQueue(DEAD_LETTER_QUEUE)
+                .maxConcurrentConsumers(1)
+                .build();
+        return batchConsumerFactory.create(properties, UserEventMessage.class, projector::onEvents);
+    }
+}
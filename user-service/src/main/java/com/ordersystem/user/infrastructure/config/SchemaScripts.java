@@ -0,0 +1,22 @@
+package com.ordersystem.user.infrastructure.config;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+/**
+ * Scripts de esquema para entornos locales: en Oracle las tablas las crea el DBA con los mismos scripts
+ */
+final class SchemaScripts {
+
+    private SchemaScripts() {
+    }
+
+    static void run(DataSource dataSource, String script) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(script));
+        // Las tablas ya existentes no son un error
+        populator.setContinueOnError(true);
+        populator.execute(dataSource);
+    }
+}
@@ -0,0 +1,118 @@
+package com.ordersystem.user.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.UserChangeLog;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.mapper.UserPersistenceMapper;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.sharding.EmailDirectory;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.sharding.ShardBucketMap;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.sharding.ShardEndpoint;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.sharding.ShardOrphanReconciler;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.sharding.ShardRebalancer;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.sharding.ShardedUserExporter;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.sharding.ShardedUserRepositoryAdapter;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.sharding.Shards;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sharding Configuration
+ * Solo se activa con sharding.enabled=true. Los usuarios se reparten entre las
+ * bases de datos de sharding.shards; el directorio de emails y el mapa de buckets
+ * viven en el DataSource principal. Todo acceso a usuarios (repositorio, exportación,
+ * read model) pasa por los beans @Primary de aquí, nunca por la tabla users principal.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    private static final String SHARD_SCHEMA = "db/sharding/shard-schema.sql";
+    private static final String DIRECTORY_SCHEMA = "db/sharding/directory-schema.sql";
+
+    @Bean
+    public Shards userShards(ShardingProperties properties) {
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        for (int index = 0; index < properties.getShards().size(); index++) {
+            ShardingProperties.ShardDataSource shard = properties.getShards().get(index);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setDriverClassName(shard.getDriverClassName());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            dataSource.setPoolName("user-shard-" + index);
+            if (properties.isInitializeSchema()) {
+                SchemaScripts.run(dataSource, SHARD_SCHEMA);
+            }
+            dataSources.add(dataSource);
+        }
+        return new Shards(dataSources);
+    }
+
+    @Bean
+    public ShardBucketMap shardBucketMap(DataSource dataSource, Shards userShards, ShardingProperties properties) {
+        if (properties.isInitializeSchema()) {
+            SchemaScripts.run(dataSource, DIRECTORY_SCHEMA);
+        }
+        return new ShardBucketMap(new JdbcTemplate(dataSource), properties.getBuckets(), userShards.size(),
+                properties.getBucketRefreshInterval());
+    }
+
+    @Bean
+    public EmailDirectory emailDirectory(DataSource dataSource) {
+        return new EmailDirectory(new JdbcTemplate(dataSource));
+    }
+
+    @Bean
+    @Primary
+    public ShardedUserRepositoryAdapter shardedUserRepository(Shards userShards,
+                                                              ShardBucketMap shardBucketMap,
+                                                              EmailDirectory emailDirectory,
+                                                              UserPersistenceMapper mapper,
+                                                              UserChangeLog userChangeLog) {
+        return new ShardedUserRepositoryAdapter(userShards, shardBucketMap, emailDirectory, mapper, userChangeLog);
+    }
+
+    @Bean
+    @Primary
+    public ShardedUserExporter shardedUserExporter(DataSource dataSource,
+                                                   PlatformTransactionManager transactionManager,
+                                                   ObjectMapper objectMapper,
+                                                   @Value("${export.fetch-size:1000}") int fetchSize,
+                                                   Shards userShards,
+                                                   ShardBucketMap shardBucketMap) {
+        return new ShardedUserExporter(dataSource, transactionManager, objectMapper, fetchSize,
+                userShards, shardBucketMap);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(Shards userShards, ShardBucketMap shardBucketMap,
+                                           ShardingProperties properties) {
+        return new ShardRebalancer(userShards, shardBucketMap, properties.getRebalanceGrace(),
+                properties.getRebalanceBatchSize());
+    }
+
+    @Bean
+    public ShardOrphanReconciler shardOrphanReconciler(Shards userShards, EmailDirectory emailDirectory,
+                                                       ShardingProperties properties) {
+        return new ShardOrphanReconciler(userShards, emailDirectory, properties.getOrphanGrace(),
+                properties.getOrphanLookback(), properties.getOrphanBatchSize());
+    }
+
+    @Bean
+    public ShardEndpoint shardEndpoint(ShardBucketMap shardBucketMap, ShardRebalancer shardRebalancer) {
+        return new ShardEndpoint(shardBucketMap, shardRebalancer);
+    }
+}
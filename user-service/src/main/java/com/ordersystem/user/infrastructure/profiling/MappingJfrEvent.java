@@ -0,0 +1,28 @@
+package com.ordersystem.user.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Mapping JFR Event
+ * Evento JFR de una llamada de mapeo de DTO
+ */
+@Name("com.ordersystem.user.Mapping")
+@Label("User Mapping")
+@Category({"Order System", "User Service"})
+@StackTrace(false)
+public class MappingJfrEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    public static MappingJfrEvent begin(String method) {
+        MappingJfrEvent event = new MappingJfrEvent();
+        event.method = method;
+        event.begin();
+        return event;
+    }
+}
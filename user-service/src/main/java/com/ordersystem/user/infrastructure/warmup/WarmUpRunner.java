@@ -0,0 +1,243 @@
+package com.ordersystem.user.infrastructure.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import com.ordersystem.common.dto.ApiResponse;
+import com.ordersystem.user.application.port.in.CreateUserCommand;
+import com.ordersystem.user.application.port.out.UserRepository;
+import com.ordersystem.user.domain.model.Address;
+import com.ordersystem.user.domain.model.Email;
+import com.ordersystem.user.domain.model.User;
+import com.ordersystem.user.domain.model.UserStatus;
+import com.ordersystem.user.infrastructure.adapter.in.rest.dto.UserRequest;
+import com.ordersystem.user.infrastructure.adapter.in.rest.dto.UserResponse;
+import com.ordersystem.user.infrastructure.adapter.in.rest.mapper.UserRestMapper;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.EmailLookupKey;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.UserJpaEntity;
+import com.ordersystem.user.infrastructure.adapter.out.persistence.mapper.UserPersistenceMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Warm-up de arranque
+ * Recorre los caminos calientes (validación y mapeo de la petición, Email, JSON y
+ * una consulta de solo lectura) con datos sintéticos hasta que el p99 de las dos
+ * ventanas baja de su objetivo o se agota el presupuesto de tiempo. Las iteraciones
+ * en proceso y las consultas a la base de datos se miden por separado: mezcladas, el
+ * p99 sería siempre el de una consulta y el objetivo no se alcanzaría. Al ser un
+ * ApplicationRunner, readiness sigue en REFUSING_TRAFFIC mientras dura; la instancia se
+ * registra en Eureka como STARTING (eureka.instance.initial-status) y pasa a UP al terminar.
+ */
+@Slf4j
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final int WINDOW = 500;
+    private static final int PROBE_WINDOW = 100;
+
+    private final UserRestMapper restMapper;
+    private final UserPersistenceMapper persistenceMapper;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final Duration timeBudget;
+    private final long latencyTargetNanos;
+    private final long probeLatencyTargetNanos;
+    private final int minIterations;
+    private final int queryEvery;
+
+    private volatile double durationSeconds;
+    private volatile double windowP99Millis;
+    private volatile double probeP99Millis;
+
+    public WarmUpRunner(UserRestMapper restMapper,
+                        UserPersistenceMapper persistenceMapper,
+                        UserRepository userRepository,
+                        ObjectMapper objectMapper,
+                        Validator validator,
+                        ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${warmup.enabled:true}") boolean enabled,
+                        @Value("${warmup.time-budget:30s}") Duration timeBudget,
+                        @Value("${warmup.latency-target:2ms}") Duration latencyTarget,
+                        @Value("${warmup.probe-latency-target:20ms}") Duration probeLatencyTarget,
+                        @Value("${warmup.min-iterations:5000}") int minIterations,
+                        @Value("${warmup.query-every:20}") int queryEvery) {
+        this.restMapper = restMapper;
+        this.persistenceMapper = persistenceMapper;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.applicationInfoManager = applicationInfoManager;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.timeBudget = timeBudget;
+        this.latencyTargetNanos = latencyTarget.toNanos();
+        this.probeLatencyTargetNanos = probeLatencyTarget.toNanos();
+        this.minIterations = minIterations;
+        this.queryEvery = queryEvery;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            if (enabled) {
+                warmUp();
+            }
+        } finally {
+            // Sin warm-up, o si ha fallado, la instancia no puede quedarse en STARTING
+            markUp();
+        }
+    }
+
+    private void warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + timeBudget.toNanos();
+        long[] window = new long[WINDOW];
+        long[] probeWindow = new long[PROBE_WINDOW];
+        Long firstP99 = null;
+        int iterations = 0;
+        int probes = 0;
+        boolean targetReached = false;
+
+        try {
+            while (System.nanoTime() - deadline < 0) {
+                long iterationStart = System.nanoTime();
+                exercise(iterations);
+                window[iterations % WINDOW] = System.nanoTime() - iterationStart;
+                iterations++;
+
+                if (iterations % queryEvery == 0) {
+                    long probeStart = System.nanoTime();
+                    probeDatabase();
+                    probeWindow[probes % PROBE_WINDOW] = System.nanoTime() - probeStart;
+                    probes++;
+                }
+
+                if (iterations % WINDOW == 0) {
+                    long p99 = percentile99(window);
+                    windowP99Millis = p99 / 1_000_000.0;
+                    if (firstP99 == null) {
+                        firstP99 = p99;
+                    }
+                    // La ventana de consultas solo cuenta cuando está llena
+                    long probeP99 = probes >= PROBE_WINDOW ? percentile99(probeWindow) : Long.MAX_VALUE;
+                    probeP99Millis = probes >= PROBE_WINDOW ? probeP99 / 1_000_000.0 : Double.NaN;
+                    if (iterations >= minIterations && p99 <= latencyTargetNanos
+                            && probeP99 <= probeLatencyTargetNanos) {
+                        targetReached = true;
+                        break;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Warm-up aborted after {} iterations", iterations, e);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        durationSeconds = elapsed / 1_000_000_000.0;
+        meterRegistry.gauge("user.warmup.duration", this, runner -> runner.durationSeconds);
+        meterRegistry.gauge("user.warmup.p99", Tags.of("path", "in_process"), this,
+                runner -> runner.windowP99Millis);
+        meterRegistry.gauge("user.warmup.p99", Tags.of("path", "db_probe"), this,
+                runner -> runner.probeP99Millis);
+
+        log.info("Warm-up {} after {} iterations and {} DB probes in {} ms "
+                        + "(in-process p99: first window {} ms, last window {} ms; DB probe p99 {} ms)",
+                targetReached ? "reached the latency targets" : "stopped at the time budget",
+                iterations, probes, elapsed / 1_000_000,
+                firstP99 != null ? String.format("%.3f", firstP99 / 1_000_000.0) : "-",
+                String.format("%.3f", windowP99Millis),
+                Double.isNaN(probeP99Millis) ? "-" : String.format("%.3f", probeP99Millis));
+    }
+
+    /**
+     * Una petición sintética de extremo a extremo sin efectos: nada se guarda ni se publica
+     */
+    private void exercise(int iteration) {
+        UserRequest request = UserRequest.builder()
+                .firstName("Warm" + iteration)
+                .lastName("Up")
+                .email(" Warmup." + iteration + "@Example.com ")
+                .phone("+34600000000")
+                .street("Calle Mayor " + iteration)
+                .city("Madrid")
+                .state("Madrid")
+                .zipCode("28013")
+                .country("ES")
+                .build();
+        try {
+            UserRequest parsed = objectMapper.readValue(objectMapper.writeValueAsBytes(request), UserRequest.class);
+            validator.validate(parsed);
+            CreateUserCommand command = restMapper.toCommand(parsed);
+
+            LocalDateTime now = LocalDateTime.now();
+            User user = User.builder()
+                    .id(UUID.randomUUID())
+                    .firstName(command.getFirstName())
+                    .lastName(command.getLastName())
+                    .email(new Email(command.getEmail()))
+                    .phone(command.getPhone())
+                    .address(Address.builder()
+                            .street(command.getStreet())
+                            .city(command.getCity())
+                            .state(command.getState())
+                            .zipCode(command.getZipCode())
+                            .country(command.getCountry())
+                            .build())
+                    .status(UserStatus.ACTIVE)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+
+            UserJpaEntity entity = persistenceMapper.toEntity(user);
+            EmailLookupKey.hash(entity.getEmail());
+            UserResponse response = restMapper.toResponse(persistenceMapper.toDomain(entity));
+            objectMapper.writeValueAsBytes(ApiResponse.success(response));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Ids aleatorios: la consulta recorre Hikari, Hibernate y el índice sin encontrar filas
+     */
+    private void probeDatabase() {
+        userRepository.findById(UUID.randomUUID());
+        userRepository.findByIds(List.of(UUID.randomUUID(), UUID.randomUUID()));
+    }
+
+    private void markUp() {
+        ApplicationInfoManager manager = applicationInfoManager.getIfAvailable();
+        if (manager != null && manager.getInfo().getStatus() != InstanceInfo.InstanceStatus.UP) {
+            manager.setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+            log.info("Instance marked UP in Eureka");
+        }
+    }
+
+    private static long percentile99(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+    }
+}
@@ -0,0 +1,24 @@
+-- Registro de cambios del change feed en la base de datos principal
+-- (Oracle 12c+; también válido en H2 con MODE=Oracle)
+
+-- Cambios confirmados por las escrituras y aún sin secuenciar
+CREATE TABLE user_change_queue (
+    queue_id NUMBER(19) GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id  RAW(16)    NOT NULL
+);
+
+-- Último cambio secuenciado de cada usuario
+CREATE TABLE user_change_log (
+    user_id         RAW(16)    NOT NULL PRIMARY KEY,
+    change_sequence NUMBER(19) NOT NULL
+);
+
+CREATE INDEX idx_user_change_log_sequence ON user_change_log (change_sequence, user_id);
+
+-- Una sola fila: su bloqueo serializa los secuenciadores
+CREATE TABLE user_change_sequencer (
+    id            NUMBER(1)  NOT NULL PRIMARY KEY,
+    last_sequence NUMBER(19) NOT NULL
+);
+
+INSERT INTO user_change_sequencer (id, last_sequence) VALUES (1, 0);
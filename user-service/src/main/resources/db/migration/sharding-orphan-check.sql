@@ -0,0 +1,32 @@
+-- Índices de ShardOrphanReconciler en una instalación con sharding ya en marcha.
+-- Se puede relanzar: cada índice solo se crea si falta.
+--   sqlplus user/password@primary @sharding-orphan-check.sql   (directorio de emails)
+--   sqlplus user/password@shardN  @sharding-orphan-check.sql   (en cada shard)
+WHENEVER SQLERROR EXIT FAILURE ROLLBACK
+
+DECLARE
+    shard_table NUMBER;
+
+    PROCEDURE create_index(table_name VARCHAR2, index_name VARCHAR2, column_list VARCHAR2) IS
+        found NUMBER;
+    BEGIN
+        SELECT COUNT(*) INTO found FROM user_tables t WHERE t.table_name = create_index.table_name;
+        IF found = 0 THEN
+            RETURN;
+        END IF;
+        SELECT COUNT(*) INTO found FROM user_indexes i WHERE i.index_name = create_index.index_name;
+        IF found = 0 THEN
+            EXECUTE IMMEDIATE 'CREATE INDEX ' || index_name || ' ON ' || table_name || ' (' || column_list || ')';
+        END IF;
+    END;
+BEGIN
+    create_index('USER_EMAIL_DIRECTORY', 'IDX_USER_EMAIL_DIRECTORY_USER_ID', 'user_id');
+    -- En la base de datos principal sin sharding la tabla users no tiene shard_bucket
+    SELECT COUNT(*) INTO shard_table
+      FROM user_tab_columns
+     WHERE table_name = 'USERS' AND column_name = 'SHARD_BUCKET';
+    IF shard_table > 0 THEN
+        create_index('USERS', 'IDX_USERS_CREATED_AT_ID', 'created_at, id');
+    END IF;
+END;
+/
@@ -0,0 +1,27 @@
+-- Alta del registro de cambios (GET /users/changes) en una base de datos con usuarios.
+-- Crea las tablas y publica los usuarios existentes con secuencia 0, el principio del
+-- feed. Los cursores anteriores, basados en updated_at, vuelven a empezar desde ahí.
+--   sqlplus user/password@db @users-change-log.sql
+WHENEVER SQLERROR EXIT FAILURE ROLLBACK
+
+@@../changefeed/change-feed-schema.sql
+COMMIT;
+
+-- Sin sharding los usuarios están en users; con sharding, los ids se toman del directorio
+-- global (user_email_directory) de esta misma base de datos
+DECLARE
+    sharded NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO sharded FROM user_tables WHERE table_name = 'USER_EMAIL_DIRECTORY';
+    IF sharded > 0 THEN
+        EXECUTE IMMEDIATE 'INSERT INTO user_change_log (user_id, change_sequence) '
+            || 'SELECT d.user_id, 0 FROM user_email_directory d '
+            || 'WHERE NOT EXISTS (SELECT 1 FROM user_change_log l WHERE l.user_id = d.user_id)';
+    ELSE
+        EXECUTE IMMEDIATE 'INSERT INTO user_change_log (user_id, change_sequence) '
+            || 'SELECT u.id, 0 FROM users u '
+            || 'WHERE NOT EXISTS (SELECT 1 FROM user_change_log l WHERE l.user_id = u.id)';
+    END IF;
+    COMMIT;
+END;
+/
@@ -0,0 +1,124 @@
+-- Columna de búsqueda por email: email canónico (TRIM + LOWER) y email_hash RAW(16)
+-- con los 16 primeros bytes de su SHA-256 (ver EmailLookupKey). Requiere Oracle 12c+
+-- (STANDARD_HASH) y juego de caracteres AL32UTF8 para que el hash coincida con el de Java.
+-- Se puede relanzar: cada paso solo toca lo que falta. Con Hibernate ddl-auto=update la
+-- columna y el índice pueden existir ya; los pasos 1 y 4 lo comprueban.
+--   sqlplus user/password@db @users-email-hash.sql
+WHENEVER SQLERROR EXIT FAILURE ROLLBACK
+
+-- 1. Columna nueva, nullable mientras dura el relleno
+DECLARE
+    column_exists NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO column_exists
+      FROM user_tab_columns
+     WHERE table_name = 'USERS' AND column_name = 'EMAIL_HASH';
+    IF column_exists = 0 THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE users ADD (email_hash RAW(16))';
+    END IF;
+END;
+/
+
+-- 2. Relleno de email_hash por lotes con commit intermedio para no agotar el undo con
+--    millones de filas. El email aún no se toca: la restricción única sobre email sigue
+--    activa y dos emails que solo difieren en mayúsculas o espacios darían ORA-00001
+DECLARE
+    batch_size CONSTANT PLS_INTEGER := 10000;
+    updated    PLS_INTEGER;
+BEGIN
+    LOOP
+        UPDATE users
+           SET email_hash = UTL_RAW.SUBSTR(STANDARD_HASH(LOWER(TRIM(email)), 'SHA256'), 1, 16)
+         WHERE email_hash IS NULL
+           AND ROWNUM <= batch_size;
+        updated := SQL%ROWCOUNT;
+        COMMIT;
+        EXIT WHEN updated < batch_size;
+    END LOOP;
+END;
+/
+
+-- 3. Emails que solo se distinguían por mayúsculas o espacios: hay que resolverlos
+--    a mano (fusionar o corregir las cuentas) antes de seguir
+SELECT u.email_hash, u.id, u.email
+  FROM users u
+ WHERE u.email_hash IN (SELECT email_hash FROM users GROUP BY email_hash HAVING COUNT(*) > 1)
+ ORDER BY u.email_hash, u.created_at;
+
+DECLARE
+    collisions NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO collisions
+      FROM (SELECT email_hash FROM users GROUP BY email_hash HAVING COUNT(*) > 1);
+    IF collisions > 0 THEN
+        RAISE_APPLICATION_ERROR(-20001, collisions
+            || ' emails collide after canonicalization; resolve them and run the script again');
+    END IF;
+END;
+/
+
+-- 4. Índice único sobre el hash (16 bytes por entrada frente a hasta 255 del email),
+--    salvo que ya exista uno sobre email_hash (p. ej. creado por Hibernate)
+DECLARE
+    index_exists NUMBER;
+    nullable     user_tab_columns.nullable%TYPE;
+BEGIN
+    SELECT COUNT(*) INTO index_exists
+      FROM user_ind_columns ic
+      JOIN user_indexes i ON i.index_name = ic.index_name
+     WHERE ic.table_name = 'USERS'
+       AND ic.column_name = 'EMAIL_HASH'
+       AND ic.column_position = 1
+       AND i.uniqueness = 'UNIQUE';
+    IF index_exists = 0 THEN
+        EXECUTE IMMEDIATE 'CREATE UNIQUE INDEX uk_users_email_hash ON users (email_hash) ONLINE';
+    END IF;
+
+    SELECT nullable INTO nullable
+      FROM user_tab_columns
+     WHERE table_name = 'USERS' AND column_name = 'EMAIL_HASH';
+    IF nullable = 'Y' THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE users MODIFY (email_hash NOT NULL)';
+    END IF;
+END;
+/
+
+-- 5. Se elimina la restricción única sobre email, junto con su índice
+DECLARE
+    constraint_name user_constraints.constraint_name%TYPE;
+BEGIN
+    SELECT c.constraint_name INTO constraint_name
+      FROM user_constraints c
+      JOIN user_cons_columns cc ON cc.constraint_name = c.constraint_name
+     WHERE c.table_name = 'USERS'
+       AND c.constraint_type = 'U'
+       AND cc.column_name = 'EMAIL';
+    EXECUTE IMMEDIATE 'ALTER TABLE users DROP CONSTRAINT ' || constraint_name || ' DROP INDEX';
+EXCEPTION
+    WHEN NO_DATA_FOUND THEN
+        NULL;
+END;
+/
+
+-- 6. Email canónico, ya sin la restricción única sobre email: la unicidad la garantiza
+--    el índice del paso 4, y el paso 3 ha comprobado que no hay colisiones
+DECLARE
+    batch_size CONSTANT PLS_INTEGER := 10000;
+    updated    PLS_INTEGER;
+BEGIN
+    LOOP
+        UPDATE users
+           SET email = LOWER(TRIM(email))
+         WHERE email <> LOWER(TRIM(email))
+           AND ROWNUM <= batch_size;
+        updated := SQL%ROWCOUNT;
+        COMMIT;
+        EXIT WHEN updated < batch_size;
+    END LOOP;
+END;
+/
+
+-- Comparación de tamaño de índices tras la migración
+SELECT segment_name, ROUND(bytes / 1024 / 1024) AS size_mb
+  FROM user_segments
+ WHERE segment_name IN (SELECT index_name FROM user_indexes WHERE table_name = 'USERS');
@@ -0,0 +1,8 @@
+-- Tabla users de la réplica local (perfil replica-local): enlace de solo lectura a la
+-- tabla que Hibernate crea en la base primaria. Simula una réplica sin retraso en la que
+-- cualquier escritura enrutada por error a la réplica falla.
+-- Se ejecuta en cada conexión nueva (INIT de la URL); si la tabla primaria aún no existe
+-- falla, ReadWriteRoutingDataSource recurre a la primaria y se reintenta tras el cooldown
+CREATE LINKED TABLE IF NOT EXISTS users(
+    'org.h2.Driver', 'jdbc:h2:mem:users-primary;MODE=Oracle;DB_CLOSE_DELAY=-1', 'sa', '', 'USERS'
+) READONLY;
@@ -0,0 +1,14 @@
+-- Directorio global en la base de datos principal
+CREATE TABLE user_email_directory (
+    email   VARCHAR2(255) NOT NULL PRIMARY KEY,
+    user_id RAW(16)       NOT NULL
+);
+
+-- Comprobación de filas huérfanas en los shards (ShardOrphanReconciler)
+CREATE INDEX idx_user_email_directory_user_id ON user_email_directory (user_id);
+
+CREATE TABLE user_shard_buckets (
+    bucket NUMBER(5)    NOT NULL PRIMARY KEY,
+    shard  NUMBER(3)    NOT NULL,
+    state  VARCHAR2(10) NOT NULL
+);
@@ -0,0 +1,23 @@
+-- Tabla users de cada shard (Oracle; también válida en H2 con MODE=Oracle)
+CREATE TABLE users (
+    id           RAW(16)       NOT NULL PRIMARY KEY,
+    first_name   VARCHAR2(100) NOT NULL,
+    last_name    VARCHAR2(100) NOT NULL,
+    email        VARCHAR2(255) NOT NULL,
+    phone        VARCHAR2(20),
+    street       VARCHAR2(255),
+    city         VARCHAR2(100),
+    state        VARCHAR2(100),
+    zip_code     VARCHAR2(20),
+    country      VARCHAR2(100),
+    status       VARCHAR2(20)  NOT NULL,
+    created_at   TIMESTAMP(6)  NOT NULL,
+    updated_at   TIMESTAMP(6)  NOT NULL,
+    shard_bucket NUMBER(5)     NOT NULL
+);
+
+CREATE INDEX idx_users_shard_bucket_id ON users (shard_bucket, id);
+CREATE INDEX idx_users_email ON users (email);
+
+-- Recorrido de las filas recientes en busca de huérfanas (ShardOrphanReconciler)
+CREATE INDEX idx_users_created_at_id ON users (created_at, id);